@@ -0,0 +1,117 @@
+package com.example.simpletodo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads meter statistics from the application's /actuator/metrics endpoint
+ * so Hikari pool checkouts and waits and GC pauses can be reported per stage
+ */
+final class AppMetrics {
+
+    /**
+     * Cumulative count and total time (seconds) of a timer, plus its recent max
+     */
+    record TimerSnapshot(double count, double totalSeconds, double maxSeconds) {
+
+        static final TimerSnapshot UNAVAILABLE = new TimerSnapshot(Double.NaN, Double.NaN, Double.NaN);
+
+        boolean isAvailable() {
+            return !Double.isNaN(count);
+        }
+
+        TimerSnapshot minus(TimerSnapshot earlier) {
+            return new TimerSnapshot(count - earlier.count, totalSeconds - earlier.totalSeconds, maxSeconds);
+        }
+
+        double meanMillis() {
+            return count > 0 ? totalSeconds * 1000 / count : 0;
+        }
+    }
+
+    /**
+     * Snapshot of the application-side metrics the report includes.
+     * poolAcquire counts every connection checkout; poolTimeouts counts the
+     * checkouts that waited out the connection timeout.
+     */
+    record Snapshot(TimerSnapshot poolAcquire, double poolTimeouts, TimerSnapshot gcPause) {
+
+        Snapshot minus(Snapshot earlier) {
+            return new Snapshot(delta(poolAcquire, earlier.poolAcquire), poolTimeouts - earlier.poolTimeouts,
+                    delta(gcPause, earlier.gcPause));
+        }
+
+        private static TimerSnapshot delta(TimerSnapshot later, TimerSnapshot earlier) {
+            return later.isAvailable() && earlier.isAvailable() ? later.minus(earlier) : TimerSnapshot.UNAVAILABLE;
+        }
+    }
+
+    private final HttpClient client;
+    private final URI target;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AppMetrics(HttpClient client, URI target) {
+        this.client = client;
+        this.target = target;
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(timer("hikaricp.connections.acquire"),
+                statistic("hikaricp.connections.timeout", "COUNT"), timer("jvm.gc.pause"));
+    }
+
+    /**
+     * Threads currently waiting for a pool connection, or NaN if not available
+     */
+    double poolPending() {
+        return statistic("hikaricp.connections.pending", "VALUE");
+    }
+
+    private TimerSnapshot timer(String name) {
+        Map<String, Double> measurements = measurements(name);
+        if (measurements == null) {
+            return TimerSnapshot.UNAVAILABLE;
+        }
+        return new TimerSnapshot(measurements.getOrDefault("COUNT", 0.0),
+                measurements.getOrDefault("TOTAL_TIME", 0.0), measurements.getOrDefault("MAX", 0.0));
+    }
+
+    private double statistic(String name, String statistic) {
+        Map<String, Double> measurements = measurements(name);
+        return measurements == null ? Double.NaN : measurements.getOrDefault(statistic, Double.NaN);
+    }
+
+    /**
+     * Measurements of a meter by statistic, or null if the meter cannot be read
+     */
+    private Map<String, Double> measurements(String name) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(target.resolve("/actuator/metrics/" + name))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            Map<String, Double> measurements = new HashMap<>();
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                measurements.put(measurement.path("statistic").asText(), measurement.path("value").asDouble());
+            }
+            return measurements;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+}
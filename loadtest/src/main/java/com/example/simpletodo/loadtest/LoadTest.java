@@ -0,0 +1,415 @@
+package com.example.simpletodo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load harness for the running application.
+ * Each stage issues requests at a fixed arrival rate regardless of how fast
+ * the application answers, and latency is measured from the intended send
+ * time so queueing delay is not hidden (no coordinated omission). Stages
+ * are reported with p50/p99/p99.9 per endpoint and an SLO verdict, which
+ * shows where the throughput curve bends.
+ */
+public final class LoadTest {
+
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String[] SEARCH_WORDS = {"spring", "database", "deploy", "task", "docs", "load"};
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final Duration POOL_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final double[] tenantCdf;
+    private final Map<String, TodoIds> todoIds = new ConcurrentHashMap<>();
+    private final AtomicLong taskSequence = new AtomicLong();
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        this.operations = config.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        // Zipf distribution: tenant k receives load proportional to 1 / k^s
+        this.tenantCdf = new double[config.tenants];
+        double sum = 0;
+        for (int k = 0; k < config.tenants; k++) {
+            sum += 1 / Math.pow(k + 1, config.zipfExponent);
+            tenantCdf[k] = sum;
+        }
+        for (int k = 0; k < config.tenants; k++) {
+            tenantCdf[k] /= sum;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        LoadTest loadTest = new LoadTest(config);
+        List<StageResult> results = loadTest.run();
+
+        Report report = new Report(config, results);
+        String markdown = report.toMarkdown();
+        System.out.println(markdown);
+        if (config.reportFile.getParent() != null) {
+            Files.createDirectories(config.reportFile.getParent());
+        }
+        Files.writeString(config.reportFile, markdown);
+        System.out.println("Report written to " + config.reportFile.toAbsolutePath());
+
+        if (config.requiredRate > 0 && report.highestPassingRate() < config.requiredRate) {
+            System.exit(1);
+        }
+    }
+
+    private List<StageResult> run() {
+        AppMetrics appMetrics = new AppMetrics(client, config.target);
+        if (!config.warmup.isZero()) {
+            System.out.printf("Warming up at %d req/s for %ds%n", config.rates.get(0), config.warmup.toSeconds());
+            runStage(config.rates.get(0), config.warmup);
+        }
+
+        List<StageResult> results = new ArrayList<>();
+        for (int rate : config.rates) {
+            System.out.printf("Running stage at %d req/s for %ds%n", rate, config.stageDuration.toSeconds());
+            AppMetrics.Snapshot before = appMetrics.snapshot();
+            DoubleAccumulator peakPending = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+            Thread sampler = Thread.ofVirtual().start(() -> samplePoolPending(appMetrics, peakPending));
+            StageStats stats = runStage(rate, config.stageDuration);
+            sampler.interrupt();
+            try {
+                sampler.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            AppMetrics.Snapshot after = appMetrics.snapshot();
+            double peak = peakPending.get();
+            results.add(new StageResult(rate, stats, after.minus(before),
+                    peak == Double.NEGATIVE_INFINITY ? Double.NaN : peak));
+        }
+        return results;
+    }
+
+    /**
+     * Poll the number of threads waiting for a pool connection once a second
+     * until interrupted, keeping the highest value seen
+     */
+    private static void samplePoolPending(AppMetrics appMetrics, DoubleAccumulator peak) {
+        while (!Thread.currentThread().isInterrupted()) {
+            double pending = appMetrics.poolPending();
+            if (!Double.isNaN(pending)) {
+                peak.accumulate(pending);
+            }
+            try {
+                Thread.sleep(POOL_SAMPLE_INTERVAL);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private StageStats runStage(int rate, Duration duration) {
+        StageStats stats = new StageStats();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + (long) (i * intervalNanos);
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.submit(() -> execute(intendedStart, stats));
+            }
+        }
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    private void execute(long intendedStart, StageStats stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String tenant = pickTenant(random);
+        TodoIds ids = todoIds.computeIfAbsent(tenant, t -> new TodoIds());
+        Operation operation = pickOperation(random);
+        Long id = null;
+        if (operation.needsExistingTodo()) {
+            boolean remove = operation == Operation.API_DELETE || operation == Operation.WEB_DELETE;
+            id = ids.pick(random, remove);
+            if (id == null) {
+                operation = operation.name().startsWith("WEB") ? Operation.WEB_CREATE : Operation.API_CREATE;
+            }
+        }
+
+        String idempotencyKey = null;
+        if (operation.isRetryable() && random.nextDouble() < config.retryProbability) {
+            idempotencyKey = UUID.randomUUID().toString();
+        }
+        HttpRequest request = buildRequest(operation, tenant, id, idempotencyKey);
+        // Simulate a client that timed out and retried while the first attempt is still running
+        CompletableFuture<HttpResponse<Void>> retry = idempotencyKey == null ? null
+                : client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+
+        EndpointStats endpoint = stats.endpoint(operation);
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpoint.record(intendedStart, response.statusCode());
+        } catch (IOException e) {
+            endpoint.recordFailure(intendedStart);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpoint.recordFailure(intendedStart);
+        }
+
+        if (operation == Operation.API_CREATE && response != null && response.statusCode() == 201) {
+            Long createdId = parseId(response.body());
+            if (createdId != null) {
+                ids.add(createdId);
+            }
+        }
+        if (retry != null) {
+            recordRetry(response, retry, stats);
+        }
+    }
+
+    /**
+     * Exactly one of the two attempts should have been replayed; if neither was, the action ran twice
+     */
+    private void recordRetry(HttpResponse<String> original, CompletableFuture<HttpResponse<Void>> retry,
+                             StageStats stats) {
+        HttpResponse<Void> retried;
+        try {
+            retried = retry.join();
+        } catch (CompletionException e) {
+            stats.retriesFailed.increment();
+            return;
+        }
+        if (original == null || original.statusCode() >= 300 || retried.statusCode() >= 300) {
+            stats.retriesFailed.increment();
+        } else if (original.headers().firstValue(REPLAYED_HEADER).isPresent()
+                || retried.headers().firstValue(REPLAYED_HEADER).isPresent()) {
+            stats.retriesReplayed.increment();
+        } else {
+            stats.retriesExecuted.increment();
+        }
+    }
+
+    private Long parseId(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).path("id");
+            return id.isNumber() ? id.asLong() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation, String tenant, Long id, String idempotencyKey) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)];
+        String task = "Load test task " + taskSequence.incrementAndGet();
+        HttpRequest.Builder builder = switch (operation) {
+            case API_LIST -> get("/api/todos");
+            case API_PENDING -> get("/api/todos/pending");
+            case API_STATUS -> get("/api/todos/status/" + random.nextBoolean());
+            case API_SEARCH -> get("/api/todos/search?q=" + word);
+            case API_GET -> get("/api/todos/" + id);
+            case API_CREATE -> request("/api/todos")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"task\":\"" + task + "\"}"));
+            case API_TOGGLE -> request("/api/todos/" + id + "/toggle")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+            case API_DELETE -> request("/api/todos/" + id).DELETE();
+            case API_STATS -> get("/api/todos/stats");
+            case WEB_INDEX -> get("/");
+            case WEB_FILTER -> get("/?filter=" + (random.nextBoolean() ? "pending" : "completed"));
+            case WEB_SEARCH -> get("/?search=" + word);
+            case WEB_CREATE -> form("/todos", "task=" + URLEncoder.encode(task, StandardCharsets.UTF_8));
+            case WEB_TOGGLE -> form("/todos/" + id + "/toggle", "");
+            case WEB_DELETE -> form("/todos/" + id + "/delete", "");
+        };
+        if (config.tenants > 1) {
+            builder.header(config.tenantHeader, tenant);
+        }
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.target + path)).timeout(config.requestTimeout);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder form(String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private String pickTenant(ThreadLocalRandom random) {
+        if (config.tenants <= 1) {
+            return "default";
+        }
+        double value = random.nextDouble();
+        int low = 0;
+        int high = tenantCdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tenantCdf[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return "tenant-" + low;
+    }
+
+    /**
+     * Ids of todos created by the harness for one tenant
+     */
+    private static final class TodoIds {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized Long pick(ThreadLocalRandom random, boolean remove) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            if (remove) {
+                ids.set(index, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Latency and outcome counts for one endpoint in one stage
+     */
+    static final class EndpointStats {
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+
+        void record(long intendedStart, int status) {
+            recordLatency(intendedStart);
+            if (status == 429) {
+                throttled.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        void recordFailure(long intendedStart) {
+            recordLatency(intendedStart);
+            serverErrors.increment();
+        }
+
+        private void recordLatency(long intendedStart) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+            latencyMicros.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+        }
+
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+
+        double errorRate() {
+            long requests = requests();
+            return requests == 0 ? 0 : (double) (serverErrors.sum() + throttled.sum()) / requests;
+        }
+    }
+
+    /**
+     * Everything measured by the harness during one stage
+     */
+    static final class StageStats {
+        final Map<Operation, EndpointStats> endpoints = new EnumMap<>(Operation.class);
+        final LongAdder retriesReplayed = new LongAdder();
+        final LongAdder retriesExecuted = new LongAdder();
+        final LongAdder retriesFailed = new LongAdder();
+        long elapsedNanos;
+
+        StageStats() {
+            for (Operation operation : Operation.values()) {
+                endpoints.put(operation, new EndpointStats());
+            }
+        }
+
+        EndpointStats endpoint(Operation operation) {
+            return endpoints.get(operation);
+        }
+    }
+
+    /**
+     * @param peakPoolPending most threads seen waiting for a pool connection during the stage, NaN if unknown
+     */
+    record StageResult(int rate, StageStats stats, AppMetrics.Snapshot appMetrics, double peakPoolPending) {
+    }
+}
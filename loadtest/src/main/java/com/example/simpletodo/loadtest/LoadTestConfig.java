@@ -0,0 +1,80 @@
+package com.example.simpletodo.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings read from the properties file, with -D system properties taking precedence
+ */
+final class LoadTestConfig {
+
+    final URI target;
+    final List<Integer> rates;
+    final Duration stageDuration;
+    final Duration warmup;
+    final Duration requestTimeout;
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    final int tenants;
+    final String tenantHeader;
+    final double zipfExponent;
+    final double retryProbability;
+    final Map<Operation, Long> sloP99Micros = new EnumMap<>(Operation.class);
+    final double maxErrorRate;
+    final int requiredRate;
+    final Path reportFile;
+
+    private LoadTestConfig(Properties properties) {
+        this.target = URI.create(get(properties, "target.url", "http://localhost:8080"));
+        this.rates = Arrays.stream(get(properties, "stages.rates", "50,100,200").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        this.stageDuration = Duration.ofSeconds(Long.parseLong(get(properties, "stage.duration-seconds", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(get(properties, "warmup.seconds", "15")));
+        this.requestTimeout = Duration.ofSeconds(Long.parseLong(get(properties, "request.timeout-seconds", "30")));
+        this.tenants = Integer.parseInt(get(properties, "tenants.count", "1"));
+        this.tenantHeader = get(properties, "tenants.header", "X-Tenant-ID");
+        this.zipfExponent = Double.parseDouble(get(properties, "tenants.zipf-exponent", "1.1"));
+        this.retryProbability = Double.parseDouble(get(properties, "retry.probability", "0"));
+        this.maxErrorRate = Double.parseDouble(get(properties, "slo.max-error-rate", "0.01"));
+        this.requiredRate = Integer.parseInt(get(properties, "slo.required-rate", "0"));
+        this.reportFile = Path.of(get(properties, "report.file", "target/loadtest-report.md"));
+
+        long defaultSloMillis = Long.parseLong(get(properties, "slo.p99-ms", "250"));
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(get(properties, "mix." + operation.key(), "0"));
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+            long sloMillis = Long.parseLong(get(properties, "slo.p99-ms." + operation.key(),
+                    Long.toString(defaultSloMillis)));
+            sloP99Micros.put(operation, sloMillis * 1000);
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix is empty; set at least one mix.* weight");
+        }
+    }
+
+    static LoadTestConfig load(String[] args) throws IOException {
+        Properties properties = new Properties();
+        if (args.length > 0) {
+            try (Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
+                properties.load(reader);
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    private static String get(Properties properties, String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.simpletodo.loadtest;
+
+/**
+ * Requests that make up the traffic mix; the key is used in the properties
+ * file (mix.&lt;key&gt;, slo.p99-ms.&lt;key&gt;) and in the report
+ */
+enum Operation {
+
+    API_LIST("api.list"),
+    API_PENDING("api.pending"),
+    API_STATUS("api.status"),
+    API_SEARCH("api.search"),
+    API_GET("api.get"),
+    API_CREATE("api.create"),
+    API_TOGGLE("api.toggle"),
+    API_DELETE("api.delete"),
+    API_STATS("api.stats"),
+    WEB_INDEX("web.index"),
+    WEB_FILTER("web.filter"),
+    WEB_SEARCH("web.search"),
+    WEB_CREATE("web.create"),
+    WEB_TOGGLE("web.toggle"),
+    WEB_DELETE("web.delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * Whether the request needs the id of an existing todo
+     */
+    boolean needsExistingTodo() {
+        return switch (this) {
+            case API_GET, API_TOGGLE, API_DELETE, WEB_TOGGLE, WEB_DELETE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Whether the request may be sent with an Idempotency-Key and retried
+     */
+    boolean isRetryable() {
+        return this == API_CREATE || this == API_TOGGLE;
+    }
+}
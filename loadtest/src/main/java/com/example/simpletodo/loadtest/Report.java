@@ -0,0 +1,159 @@
+package com.example.simpletodo.loadtest;
+
+import com.example.simpletodo.loadtest.LoadTest.EndpointStats;
+import com.example.simpletodo.loadtest.LoadTest.StageResult;
+import com.example.simpletodo.loadtest.LoadTest.StageStats;
+import org.HdrHistogram.Histogram;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Markdown report with per-endpoint latency percentiles and SLO verdicts per stage
+ */
+final class Report {
+
+    private final LoadTestConfig config;
+    private final List<StageResult> results;
+
+    Report(LoadTestConfig config, List<StageResult> results) {
+        this.config = config;
+        this.results = results;
+    }
+
+    /**
+     * Highest arrival rate at which every endpoint met its SLO, or 0 if none did
+     */
+    int highestPassingRate() {
+        int highest = 0;
+        for (StageResult result : results) {
+            if (passed(result.stats())) {
+                highest = Math.max(highest, result.rate());
+            }
+        }
+        return highest;
+    }
+
+    String toMarkdown() {
+        StringBuilder out = new StringBuilder();
+        out.append("# Load Test Report\n\n");
+        out.append("- Target: ").append(config.target).append('\n');
+        out.append("- Generated: ").append(OffsetDateTime.now()).append('\n');
+        out.append("- Stage duration: ").append(config.stageDuration.toSeconds()).append("s, tenants: ")
+                .append(config.tenants).append(", retry probability: ").append(config.retryProbability).append('\n');
+        out.append("- SLO: p99 per endpoint (see table), error rate <= ")
+                .append(format(config.maxErrorRate * 100)).append("%\n\n");
+
+        for (StageResult result : results) {
+            appendStage(out, result);
+        }
+
+        out.append("## Summary\n\n");
+        out.append("| Rate (req/s) | Achieved (req/s) | Result |\n");
+        out.append("|---:|---:|:---:|\n");
+        for (StageResult result : results) {
+            out.append("| ").append(result.rate())
+                    .append(" | ").append(format(achievedRate(result.stats())))
+                    .append(" | ").append(passed(result.stats()) ? "PASS" : "FAIL")
+                    .append(" |\n");
+        }
+        int highest = highestPassingRate();
+        out.append('\n').append(highest > 0
+                ? "Highest passing rate: **" + highest + " req/s**\n"
+                : "No stage met the SLO\n");
+        if (config.requiredRate > 0) {
+            out.append("Required rate: ").append(config.requiredRate).append(" req/s - ")
+                    .append(highest >= config.requiredRate ? "**PASS**" : "**FAIL**").append('\n');
+        }
+        return out.toString();
+    }
+
+    private void appendStage(StringBuilder out, StageResult result) {
+        StageStats stats = result.stats();
+        out.append("## Stage: ").append(result.rate()).append(" req/s - ")
+                .append(passed(stats) ? "PASS" : "FAIL").append("\n\n");
+        out.append("Achieved ").append(format(achievedRate(stats))).append(" req/s");
+
+        AppMetrics.TimerSnapshot pool = result.appMetrics().poolAcquire();
+        if (pool.isAvailable()) {
+            // The acquire timer records every checkout, not only those that had to wait
+            out.append("; Hikari: ").append(wholeNumber(pool.count())).append(" checkouts, acquire mean ")
+                    .append(format(pool.meanMillis())).append(" ms, recent max ")
+                    .append(format(pool.maxSeconds() * 1000)).append(" ms");
+        }
+        if (!Double.isNaN(result.peakPoolPending())) {
+            out.append(", peak ").append(wholeNumber(result.peakPoolPending())).append(" threads waiting");
+        }
+        if (!Double.isNaN(result.appMetrics().poolTimeouts())) {
+            out.append(", ").append(wholeNumber(result.appMetrics().poolTimeouts())).append(" acquire timeouts");
+        }
+        AppMetrics.TimerSnapshot gc = result.appMetrics().gcPause();
+        if (gc.isAvailable()) {
+            out.append("; GC pauses: ").append(format(gc.count())).append(", total ")
+                    .append(format(gc.totalSeconds() * 1000)).append(" ms, recent max ")
+                    .append(format(gc.maxSeconds() * 1000)).append(" ms");
+        }
+        out.append("\n\n");
+
+        out.append("| Endpoint | Requests | 5xx/IO | 4xx | 429 | p50 ms | p99 ms | p99.9 ms | max ms | SLO p99 ms | Result |\n");
+        out.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|:---:|\n");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.endpoints.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.requests() == 0) {
+                continue;
+            }
+            Histogram histogram = endpoint.latencyMicros;
+            out.append("| ").append(entry.getKey().key())
+                    .append(" | ").append(endpoint.requests())
+                    .append(" | ").append(endpoint.serverErrors.sum())
+                    .append(" | ").append(endpoint.clientErrors.sum())
+                    .append(" | ").append(endpoint.throttled.sum())
+                    .append(" | ").append(millis(histogram.getValueAtPercentile(50)))
+                    .append(" | ").append(millis(histogram.getValueAtPercentile(99)))
+                    .append(" | ").append(millis(histogram.getValueAtPercentile(99.9)))
+                    .append(" | ").append(millis(histogram.getMaxValue()))
+                    .append(" | ").append(millis(config.sloP99Micros.get(entry.getKey())))
+                    .append(" | ").append(passed(entry.getKey(), endpoint) ? "PASS" : "FAIL")
+                    .append(" |\n");
+        }
+
+        long retries = stats.retriesReplayed.sum() + stats.retriesExecuted.sum() + stats.retriesFailed.sum();
+        if (retries > 0) {
+            out.append("\nInjected retries: ").append(retries)
+                    .append(", replayed: ").append(stats.retriesReplayed.sum())
+                    .append(", executed again (duplicates): ").append(stats.retriesExecuted.sum())
+                    .append(", failed: ").append(stats.retriesFailed.sum()).append('\n');
+        }
+        out.append('\n');
+    }
+
+    private boolean passed(StageStats stats) {
+        return stats.endpoints.entrySet().stream()
+                .filter(entry -> entry.getValue().requests() > 0)
+                .allMatch(entry -> passed(entry.getKey(), entry.getValue()));
+    }
+
+    private boolean passed(Operation operation, EndpointStats endpoint) {
+        return endpoint.latencyMicros.getValueAtPercentile(99) <= config.sloP99Micros.get(operation)
+                && endpoint.errorRate() <= config.maxErrorRate;
+    }
+
+    private static double achievedRate(StageStats stats) {
+        long requests = stats.endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+        return stats.elapsedNanos == 0 ? 0 : requests * 1e9 / stats.elapsedNanos;
+    }
+
+    private static String millis(long micros) {
+        return format(micros / 1000.0);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String wholeNumber(double value) {
+        return String.format(Locale.ROOT, "%.0f", value);
+    }
+}
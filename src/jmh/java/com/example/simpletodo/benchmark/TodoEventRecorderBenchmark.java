@@ -0,0 +1,128 @@
+package com.example.simpletodo.benchmark;
+
+import com.example.simpletodo.SimpleTodoApplication;
+import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.entity.TodoEvent;
+import com.example.simpletodo.service.TodoEventRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of TodoEventRecorder.record() on the request thread while the
+ * background writer persists the events to the dev-profile H2 database.
+ * Calls are paced to the offered event rate (0 = as fast as possible), so
+ * the sampled latency percentiles show what a mutation request pays at that
+ * rate; after each iteration the written and dropped event rates are
+ * printed, which shows whether the writer keeps up.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(1)
+@State(Scope.Benchmark)
+public class TodoEventRecorderBenchmark {
+
+    @Param({"50000", "0"})
+    private int eventsPerSecond;
+
+    private ConfigurableApplicationContext context;
+    private TodoEventRecorder recorder;
+    private MeterRegistry meterRegistry;
+    private Todo todo;
+
+    private long intervalNanos;
+    private long nextNanos;
+
+    private long iterationStartNanos;
+    private double enqueuedAtStart;
+    private double writtenAtStart;
+    private double droppedAtStart;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimpleTodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=dev",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.simpletodo=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        recorder = context.getBean(TodoEventRecorder.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        todo = new Todo("Benchmark todo with a realistic task description");
+        todo.setId(1L);
+        todo.setTenantId("bench");
+        intervalNanos = eventsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / eventsPerSecond : 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void snapshotCounters() {
+        iterationStartNanos = System.nanoTime();
+        nextNanos = iterationStartNanos;
+        enqueuedAtStart = count("enqueued");
+        writtenAtStart = count("written");
+        droppedAtStart = count("dropped");
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRates() {
+        double seconds = (System.nanoTime() - iterationStartNanos) / 1e9;
+        System.out.printf("%n  offered %,.0f events/s, written %,.0f events/s, dropped %,.0f, buffered %,.0f%n",
+                (count("enqueued") - enqueuedAtStart + count("dropped") - droppedAtStart) / seconds,
+                (count("written") - writtenAtStart) / seconds,
+                count("dropped") - droppedAtStart,
+                meterRegistry.get("todo.events.buffer.size").gauge().value());
+    }
+
+    /**
+     * Wait for the next slot of the offered rate; not part of the sampled time.
+     * Slots missed while the writer had the CPU are caught up, so the offered
+     * rate holds on average.
+     */
+    @Setup(Level.Invocation)
+    public void pace() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        while (System.nanoTime() < nextNanos) {
+            Thread.yield();
+        }
+        nextNanos += intervalNanos;
+    }
+
+    @Benchmark
+    public void record() {
+        recorder.record(todo, TodoEvent.Type.UPDATED);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("todo.events").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simpletodo.benchmark;
+
+import com.example.simpletodo.SimpleTodoApplication;
+import com.example.simpletodo.config.TenantContext;
+import com.example.simpletodo.controller.TodoViewJsonWriter;
+import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.service.TodoService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of serving GET /api/todos: the entity path (Hibernate entities
+ * returned as ResponseEntity&lt;List&lt;Todo&gt;&gt; and written by Jackson's
+ * ObjectWriter, as the message converter does) against the view path
+ * (TodoViewRepository rows streamed by TodoViewJsonWriter). Both read the
+ * same rows from the dev-profile H2 database and write to a discarding
+ * stream, so run with {@code -prof gc} and compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class TodoListSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoViewJsonWriter viewWriter;
+    private ObjectWriter entityWriter;
+    private HttpServletResponse response;
+    private String tenantId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimpleTodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=dev",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.simpletodo=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        todoService = context.getBean(TodoService.class);
+        viewWriter = context.getBean(TodoViewJsonWriter.class);
+        entityWriter = context.getBean(ObjectMapper.class).writerFor(new TypeReference<List<Todo>>() {
+        });
+        response = new DiscardingResponse();
+
+        // A tenant of its own, so the list holds exactly the requested number of rows
+        tenantId = "bench-" + rows;
+        LocalDateTime now = LocalDateTime.now();
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO todos (tenant_id, task, completed, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                IntStream.range(0, rows).mapToObj(i -> new Object[] {
+                        tenantId,
+                        "Benchmark todo number " + i + " with a realistic task description",
+                        i % 3 == 0,
+                        Timestamp.valueOf(now.minusMinutes(i).withNano(i * 1000)),
+                        Timestamp.valueOf(now.minusSeconds(i))
+                }).toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entityList() throws IOException {
+        TenantContext.setTenantId(tenantId);
+        ResponseEntity<List<Todo>> entity = ResponseEntity.ok(todoService.getAllTodos());
+        entityWriter.writeValue(OutputStream.nullOutputStream(), entity.getBody());
+    }
+
+    @Benchmark
+    public void viewList() throws IOException {
+        TenantContext.setTenantId(tenantId);
+        viewWriter.write(todoService.getAllTodoViews(), response);
+    }
+
+    /**
+     * Response whose body goes nowhere, so only the serialization path allocates
+     */
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public void setStatus(int sc) {
+        }
+
+        @Override
+        public void setContentType(String type) {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.simpletodo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per endpoint, how long each request held database connections
+ * and how many times it checked one out, and logs requests that held them
+ * longer than the warning threshold
+ */
+public class ConnectionHoldInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionHoldInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThresholdNanos;
+
+    public ConnectionHoldInterceptor(MeterRegistry meterRegistry, long warnThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.warnThresholdNanos = TimeUnit.MILLISECONDS.toNanos(warnThresholdMillis);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConnectionHoldTracker.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ConnectionHoldTracker.Usage usage = ConnectionHoldTracker.end();
+        if (usage == null || usage.getAcquisitions() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        Timer.builder("todo.db.connection.hold")
+                .description("Total time a request held database connections")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(usage.getHoldNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("todo.db.connection.acquisitions")
+                .description("Database connections checked out per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(usage.getAcquisitions());
+
+        if (usage.getHoldNanos() > warnThresholdNanos) {
+            logger.warn("{} {} held database connections for {} ms across {} checkouts",
+                    method, uri, TimeUnit.NANOSECONDS.toMillis(usage.getHoldNanos()), usage.getAcquisitions());
+        }
+    }
+}
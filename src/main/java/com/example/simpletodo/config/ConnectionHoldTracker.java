@@ -0,0 +1,52 @@
+package com.example.simpletodo.config;
+
+/**
+ * Per-thread tally of database connection use during one web request.
+ * Only threads that called {@link #begin()} are tracked, so background
+ * work (event writer, schedulers) pays nothing.
+ */
+public final class ConnectionHoldTracker {
+
+    /**
+     * Connections acquired by a request and the total time they were held
+     */
+    public static final class Usage {
+        private int acquisitions;
+        private long holdNanos;
+
+        public int getAcquisitions() {
+            return acquisitions;
+        }
+
+        public long getHoldNanos() {
+            return holdNanos;
+        }
+    }
+
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+
+    private ConnectionHoldTracker() {
+    }
+
+    static void begin() {
+        CURRENT.set(new Usage());
+    }
+
+    static Usage end() {
+        Usage usage = CURRENT.get();
+        CURRENT.remove();
+        return usage;
+    }
+
+    static boolean isTracking() {
+        return CURRENT.get() != null;
+    }
+
+    static void recordHold(long nanos) {
+        Usage usage = CURRENT.get();
+        if (usage != null) {
+            usage.acquisitions++;
+            usage.holdNanos += nanos;
+        }
+    }
+}
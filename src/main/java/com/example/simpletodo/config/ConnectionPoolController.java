@@ -0,0 +1,214 @@
+package com.example.simpletodo.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the Hikari pool from a global connection budget shared by all
+ * instances, then adjusts it within bounds from observed pool wait and
+ * connection usage times. Also reports whether the pool is saturated so
+ * requests can be shed before they queue for a connection.
+ */
+@Component
+public class ConnectionPoolController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolController.class);
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final boolean adaptive;
+    private final int globalBudget;
+    private final int configuredInstanceCount;
+    private final int minSize;
+    private final int maxSize;
+    private final double targetAcquireMillis;
+    private final int maxWaitingConfig;
+
+    private volatile HikariPoolMXBean pool;
+    private volatile HikariConfigMXBean poolConfig;
+    private volatile int ceiling;
+    private volatile int targetSize;
+    private String poolName;
+    private double lastAcquireCount;
+    private double lastAcquireMillis;
+    private double lastUsageMillis;
+    private long lastSampleNanos;
+
+    public ConnectionPoolController(DataSource dataSource,
+                                    MeterRegistry meterRegistry,
+                                    Environment environment,
+                                    @Value("${todo.pool.adaptive.enabled:true}") boolean adaptive,
+                                    @Value("${todo.pool.global-budget:40}") int globalBudget,
+                                    @Value("${todo.pool.instance-count:1}") int configuredInstanceCount,
+                                    @Value("${todo.pool.min-size:2}") int minSize,
+                                    @Value("${todo.pool.max-size:20}") int maxSize,
+                                    @Value("${todo.pool.target-acquire-ms:5}") double targetAcquireMillis,
+                                    @Value("${todo.pool.backpressure.max-waiting:0}") int maxWaitingConfig) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.adaptive = adaptive;
+        this.globalBudget = globalBudget;
+        this.configuredInstanceCount = Math.max(1, configuredInstanceCount);
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetAcquireMillis = targetAcquireMillis;
+        this.maxWaitingConfig = maxWaitingConfig;
+    }
+
+    /**
+     * Apply this instance's share of the global budget once the pool is running
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                logger.info("DataSource is not a Hikari pool; connection pool tuning disabled");
+                return;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            logger.warn("Could not access the Hikari pool; connection pool tuning disabled", e);
+            return;
+        }
+        pool = hikari.getHikariPoolMXBean();
+        poolConfig = hikari.getHikariConfigMXBean();
+        poolName = hikari.getPoolName();
+        if (pool == null) {
+            logger.info("Hikari pool has not started; connection pool tuning disabled");
+            return;
+        }
+
+        int instances = instanceCount();
+        ceiling = clamp(globalBudget / instances);
+        logger.info("Connection pool budget: {} connections across {} instance(s), {} for this instance (bounds {}-{})",
+                globalBudget, instances, ceiling, minSize, maxSize);
+        if (globalBudget / instances < minSize) {
+            logger.warn("Global connection budget {} is too small for {} instances at the minimum pool size {}",
+                    globalBudget, instances, minSize);
+        }
+        applySize(adaptive ? Math.min(ceiling, Math.max(minSize, poolConfig.getMaximumPoolSize())) : ceiling);
+        sampleMeters();
+
+        Gauge.builder("todo.pool.target.size", this, controller -> controller.targetSize)
+                .description("Maximum pool size chosen by the connection pool controller")
+                .register(meterRegistry);
+        Gauge.builder("todo.pool.ceiling", this, controller -> controller.ceiling)
+                .description("This instance's share of the global connection budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Grow the pool when requests wait for connections; shrink it when the
+     * connections in use (throughput x mean hold time) fill well under half of it
+     */
+    @Scheduled(fixedDelayString = "${todo.pool.adjust-interval-ms:10000}",
+            initialDelayString = "${todo.pool.adjust-interval-ms:10000}")
+    public void adjust() {
+        if (pool == null || !adaptive) {
+            return;
+        }
+        double acquireCount = lastAcquireCount;
+        double acquireMillis = lastAcquireMillis;
+        double usageMillis = lastUsageMillis;
+        long sampledAt = lastSampleNanos;
+        if (!sampleMeters() || sampledAt == 0) {
+            return;
+        }
+        double checkouts = lastAcquireCount - acquireCount;
+        double elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(lastSampleNanos - sampledAt));
+        double meanAcquireMillis = checkouts > 0 ? (lastAcquireMillis - acquireMillis) / checkouts : 0;
+        double busyConnections = (lastUsageMillis - usageMillis) / elapsedMillis;
+        int waiting = pool.getThreadsAwaitingConnection();
+        int size = targetSize;
+
+        int next = size;
+        if (waiting > 0 || meanAcquireMillis > targetAcquireMillis) {
+            next = Math.min(ceiling, size + Math.max(1, size / 4));
+        } else if (busyConnections < size / 2.0 && meanAcquireMillis <= targetAcquireMillis / 2) {
+            next = Math.max(minSize, Math.max((int) Math.ceil(busyConnections * 2), size - 1));
+        }
+        if (next != size) {
+            logger.info("Resizing connection pool {} -> {} (waiting {}, mean acquire {} ms, busy {} connections)",
+                    size, next, waiting, String.format("%.2f", meanAcquireMillis),
+                    String.format("%.2f", busyConnections));
+            applySize(next);
+        }
+    }
+
+    /**
+     * Whether enough threads are queued for a connection that new requests
+     * would only add to the wait
+     */
+    public boolean isSaturated() {
+        HikariPoolMXBean current = pool;
+        if (current == null) {
+            return false;
+        }
+        int limit = maxWaitingConfig > 0 ? maxWaitingConfig : Math.max(1, targetSize);
+        return current.getThreadsAwaitingConnection() >= limit;
+    }
+
+    /**
+     * Configured instance count, raised to at least this instance's index + 1;
+     * Cloud Foundry exposes the index but not the number of instances
+     */
+    private int instanceCount() {
+        int instances = configuredInstanceCount;
+        String index = environment.getProperty("CF_INSTANCE_INDEX");
+        if (index != null) {
+            try {
+                instances = Math.max(instances, Integer.parseInt(index.trim()) + 1);
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid CF_INSTANCE_INDEX '{}'", index);
+            }
+        }
+        return instances;
+    }
+
+    private void applySize(int size) {
+        targetSize = size;
+        poolConfig.setMaximumPoolSize(size);
+        if (poolConfig.getMinimumIdle() > size) {
+            poolConfig.setMinimumIdle(size);
+        }
+    }
+
+    /**
+     * Read cumulative acquire and usage times from Hikari's Micrometer timers
+     */
+    private boolean sampleMeters() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+        if (acquire == null || usage == null) {
+            return false;
+        }
+        lastAcquireCount = acquire.count();
+        lastAcquireMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        lastUsageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+        lastSampleNanos = System.nanoTime();
+        return true;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
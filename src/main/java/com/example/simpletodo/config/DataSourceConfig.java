@@ -0,0 +1,28 @@
+package com.example.simpletodo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the auto-configured DataSource so connection hold times can be
+ * attributed to the web request that held them
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor trackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TrackingDataSource)) {
+                    return new TrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.simpletodo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Sheds load with 503 while the connection pool is saturated, instead of
+ * letting more requests queue behind the connection timeout
+ */
+public class PoolBackpressureInterceptor implements HandlerInterceptor {
+
+    private final ConnectionPoolController poolController;
+    private final Counter rejected;
+
+    public PoolBackpressureInterceptor(ConnectionPoolController poolController, MeterRegistry meterRegistry) {
+        this.poolController = poolController;
+        this.rejected = Counter.builder("todo.pool.rejected")
+                .description("Requests rejected because the connection pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (CorsUtils.isPreFlightRequest(request) || !poolController.isSaturated()) {
+            return true;
+        }
+        rejected.increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/")) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Service busy, retry shortly\"}");
+        } else {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.simpletodo.config;
+
+import com.example.simpletodo.service.RateLimiterService;
+import com.example.simpletodo.service.RateLimiterService.Decision;
+import com.example.simpletodo.service.RateLimiterService.Tier;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Admission control for the REST API: rejects requests with 429 once the
+ * calling client has used up the budget for the endpoint's tier, or its
+ * tenant has used up the tenant-wide request quota
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String API_ROOT = "/api/todos";
+
+    private final RateLimiterService rateLimiterService;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+
+    public RateLimitInterceptor(RateLimiterService rateLimiterService, String apiKeyHeader, Set<String> apiKeys) {
+        this.rateLimiterService = rateLimiterService;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Tier tier = classify(request.getMethod(), path);
+        Decision decision = rateLimiterService.tryAcquire(clientKey(request), tier);
+        if (decision.allowed()) {
+            decision = rateLimiterService.tryAcquire(TenantContext.getTenantId(), Tier.TENANT);
+        }
+        if (decision.allowed()) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+        return false;
+    }
+
+    /**
+     * Identify the caller by API key when it is one of the configured keys,
+     * otherwise by address; unknown keys are ignored so a client cannot get
+     * a fresh bucket by inventing a new key per request
+     */
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey.trim())) {
+            return "key:" + apiKey.trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Unbounded list reads, search and bulk delete are expensive; everything else is cheap
+     */
+    static Tier classify(String method, String path) {
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if ("GET".equals(method) && (API_ROOT.equals(path) || (API_ROOT + "/search").equals(path))) {
+            return Tier.EXPENSIVE;
+        }
+        if ("DELETE".equals(method) && (API_ROOT + "/completed").equals(path)) {
+            return Tier.EXPENSIVE;
+        }
+        return Tier.CHEAP;
+    }
+}
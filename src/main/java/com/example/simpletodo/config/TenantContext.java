@@ -0,0 +1,30 @@
+package com.example.simpletodo.config;
+
+/**
+ * Holds the tenant of the request being processed on the current thread
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Get the current tenant, falling back to the default tenant outside a request
+     */
+    public static String getTenantId() {
+        String tenantId = CURRENT_TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.simpletodo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant from a request header before anything opens a
+ * Hibernate session, so every query in the request is tenant-scoped.
+ * Requests without the header belong to the default tenant.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private static final Pattern VALID_TENANT = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final String tenantHeader;
+
+    public TenantFilter(@Value("${todo.tenant.header:X-Tenant-ID}") String tenantHeader) {
+        this.tenantHeader = tenantHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(tenantHeader);
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = TenantContext.DEFAULT_TENANT;
+        } else if (!VALID_TENANT.matcher(tenantId).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + tenantHeader + " header");
+            return;
+        }
+
+        TenantContext.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
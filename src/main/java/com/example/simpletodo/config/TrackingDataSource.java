@@ -0,0 +1,75 @@
+package com.example.simpletodo.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource wrapper that reports how long each connection is held (from
+ * checkout until it is returned to the pool) to {@link ConnectionHoldTracker}.
+ * Connections are only wrapped on threads that are being tracked.
+ */
+public class TrackingDataSource extends DelegatingDataSource {
+
+    public TrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        if (!ConnectionHoldTracker.isTracking()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new HoldTimer(connection));
+    }
+
+    private static final class HoldTimer implements InvocationHandler {
+
+        private final Connection target;
+        private final long acquiredAt = System.nanoTime();
+        private boolean closed;
+
+        HoldTimer(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        ConnectionHoldTracker.recordHold(System.nanoTime() - acquiredAt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.simpletodo.config;
+
+import com.example.simpletodo.service.RateLimiterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Spring MVC configuration: connection hold tracking, pool backpressure
+ * and REST API rate limiting
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimiterService rateLimiterService;
+    private final ConnectionPoolController poolController;
+    private final MeterRegistry meterRegistry;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final boolean backpressureEnabled;
+    private final long holdWarnMillis;
+
+    public WebConfig(RateLimiterService rateLimiterService,
+                     ConnectionPoolController poolController,
+                     MeterRegistry meterRegistry,
+                     @Value("${todo.ratelimit.api-key-header:X-API-Key}") String apiKeyHeader,
+                     @Value("${todo.ratelimit.api-keys:}") Set<String> apiKeys,
+                     @Value("${todo.pool.backpressure.enabled:true}") boolean backpressureEnabled,
+                     @Value("${todo.pool.hold-warn-ms:250}") long holdWarnMillis) {
+        this.rateLimiterService = rateLimiterService;
+        this.poolController = poolController;
+        this.meterRegistry = meterRegistry;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(key -> !key.isEmpty()).collect(Collectors.toSet());
+        this.backpressureEnabled = backpressureEnabled;
+        this.holdWarnMillis = holdWarnMillis;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first so its afterCompletion runs even when a later interceptor rejects the request
+        registry.addInterceptor(new ConnectionHoldInterceptor(meterRegistry, holdWarnMillis))
+                .excludePathPatterns("/static/**");
+        if (backpressureEnabled) {
+            registry.addInterceptor(new PoolBackpressureInterceptor(poolController, meterRegistry))
+                    .excludePathPatterns("/static/**", "/actuator/**");
+        }
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiterService, apiKeyHeader, apiKeys))
+                .addPathPatterns("/api/**");
+    }
+}
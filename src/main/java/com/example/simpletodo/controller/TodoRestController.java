@@ -1,13 +1,20 @@
 package com.example.simpletodo.controller;
 
 import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.entity.TodoEvent;
+import com.example.simpletodo.service.IdempotencyService;
+import com.example.simpletodo.service.TodoQueryCoalescer;
+import com.example.simpletodo.service.TodoNotFoundException;
+import com.example.simpletodo.service.TodoQuotaExceededException;
 import com.example.simpletodo.service.TodoService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,46 +24,49 @@ import java.util.Optional;
 public class TodoRestController {
 
     private final TodoService todoService;
+    private final TodoQueryCoalescer todoQueries;
+    private final IdempotencyService idempotencyService;
+    private final TodoViewJsonWriter todoViewWriter;
 
     @Autowired
-    public TodoRestController(TodoService todoService) {
+    public TodoRestController(TodoService todoService, TodoQueryCoalescer todoQueries,
+                              IdempotencyService idempotencyService, TodoViewJsonWriter todoViewWriter) {
         this.todoService = todoService;
+        this.todoQueries = todoQueries;
+        this.idempotencyService = idempotencyService;
+        this.todoViewWriter = todoViewWriter;
     }
 
     /**
-     * Get all todos
+     * Get all todos (streamed from read-only views rather than entities)
      */
     @GetMapping
-    public ResponseEntity<List<Todo>> getAllTodos() {
-        List<Todo> todos = todoService.getAllTodos();
-        return ResponseEntity.ok(todos);
+    public void getAllTodos(HttpServletResponse response) throws IOException {
+        todoViewWriter.write(todoQueries.getAllTodoViews(), response);
     }
 
     /**
      * Get todos by status
      */
     @GetMapping("/status/{completed}")
-    public ResponseEntity<List<Todo>> getTodosByStatus(@PathVariable Boolean completed) {
-        List<Todo> todos = todoService.getTodosByStatus(completed);
-        return ResponseEntity.ok(todos);
+    public void getTodosByStatus(@PathVariable boolean completed, HttpServletResponse response) throws IOException {
+        todoViewWriter.write(todoQueries.getTodoViewsByStatus(completed), response);
     }
 
     /**
      * Get pending todos
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<Todo>> getPendingTodos() {
-        List<Todo> todos = todoService.getPendingTodos();
-        return ResponseEntity.ok(todos);
+    public void getPendingTodos(HttpServletResponse response) throws IOException {
+        todoViewWriter.write(todoQueries.getTodoViewsByStatus(false), response);
     }
 
     /**
      * Get completed todos
      */
     @GetMapping("/completed")
-    public ResponseEntity<List<Todo>> getCompletedTodos() {
-        List<Todo> todos = todoService.getCompletedTodos();
-        return ResponseEntity.ok(todos);
+    public void getCompletedTodos(HttpServletResponse response) throws IOException {
+        todoViewWriter.write(todoQueries.getTodoViewsByStatus(true), response);
     }
 
     /**
@@ -70,16 +80,30 @@ public class TodoRestController {
     }
 
     /**
-     * Create a new todo
+     * Get the mutation history of a todo
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TodoEvent>> getTodoHistory(@PathVariable Long id) {
+        List<TodoEvent> events = todoService.getTodoHistory(id);
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * Create a new todo; retries with the same Idempotency-Key replay the first response
      */
     @PostMapping
-    public ResponseEntity<Todo> createTodo(@Valid @RequestBody Todo todo) {
-        try {
-            Todo createdTodo = todoService.createTodo(todo);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdTodo);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<Todo> createTodo(@Valid @RequestBody Todo todo,
+                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/todos " + todo.getTask(), Todo.class, () -> {
+            try {
+                Todo createdTodo = todoService.createTodo(todo);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdTodo);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (TodoQuotaExceededException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        });
     }
 
     /**
@@ -96,29 +120,36 @@ public class TodoRestController {
     }
 
     /**
-     * Toggle todo completion status
+     * Toggle todo completion status; retries with the same Idempotency-Key do not toggle again
      */
     @PatchMapping("/{id}/toggle")
-    public ResponseEntity<Todo> toggleTodoCompletion(@PathVariable Long id) {
-        try {
-            Todo updatedTodo = todoService.toggleTodoCompletion(id);
-            return ResponseEntity.ok(updatedTodo);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<Todo> toggleTodoCompletion(@PathVariable Long id,
+                                                     @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/todos/" + id + "/toggle", Todo.class, () -> {
+            try {
+                Todo updatedTodo = todoService.toggleTodoCompletion(id);
+                return ResponseEntity.ok(updatedTodo);
+            } catch (TodoNotFoundException e) {
+                // Other failures propagate so the key is released and a retry runs again
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
 
     /**
      * Mark todo as completed
      */
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<Todo> completeTodo(@PathVariable Long id) {
-        try {
-            Todo updatedTodo = todoService.completeTodo(id);
-            return ResponseEntity.ok(updatedTodo);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<Todo> completeTodo(@PathVariable Long id,
+                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/todos/" + id + "/complete", Todo.class, () -> {
+            try {
+                Todo updatedTodo = todoService.completeTodo(id);
+                return ResponseEntity.ok(updatedTodo);
+            } catch (TodoNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
 
     /**
@@ -139,7 +170,7 @@ public class TodoRestController {
      */
     @GetMapping("/search")
     public ResponseEntity<List<Todo>> searchTodos(@RequestParam String q) {
-        List<Todo> todos = todoService.searchTodos(q);
+        List<Todo> todos = todoQueries.searchTodos(q);
         return ResponseEntity.ok(todos);
     }
 
@@ -149,9 +180,9 @@ public class TodoRestController {
     @GetMapping("/stats")
     public ResponseEntity<TodoStats> getTodoStats() {
         TodoStats stats = new TodoStats(
-            todoService.getTotalTodoCount(),
-            todoService.getPendingTodoCount(),
-            todoService.getCompletedTodoCount()
+            todoQueries.getTotalTodoCount(),
+            todoQueries.getPendingTodoCount(),
+            todoQueries.getCompletedTodoCount()
         );
         return ResponseEntity.ok(stats);
     }
@@ -0,0 +1,124 @@
+package com.example.simpletodo.controller;
+
+import com.example.simpletodo.repository.TodoView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams {@link TodoView} lists to the response with a JsonGenerator.
+ * The output matches the JSON of the {@code Todo} entity, including ISO-8601
+ * local date-times, but the timestamps are formatted into a reusable buffer
+ * instead of going through LocalDateTime and DateTimeFormatter.
+ */
+@Component
+public class TodoViewJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TASK = new SerializedString("task");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    private final ObjectMapper objectMapper;
+
+    public TodoViewJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the todos as a JSON array with status 200
+     */
+    public void write(List<TodoView> todos, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        char[] buffer = new char[32];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (TodoView todo : todos) {
+                generator.writeStartObject();
+                generator.writeFieldName(ID);
+                generator.writeNumber(todo.id());
+                generator.writeFieldName(TASK);
+                generator.writeString(todo.task());
+                generator.writeFieldName(COMPLETED);
+                generator.writeBoolean(todo.completed());
+                generator.writeFieldName(CREATED_AT);
+                writeTimestamp(generator, todo.createdAtMicros(), buffer);
+                generator.writeFieldName(UPDATED_AT);
+                writeTimestamp(generator, todo.updatedAtMicros(), buffer);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, long micros, char[] buffer) throws IOException {
+        if (micros == TodoView.NO_TIMESTAMP) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeString(buffer, 0, formatIsoLocalDateTime(micros, buffer));
+    }
+
+    /**
+     * Format as ISO_LOCAL_DATE_TIME (yyyy-MM-ddTHH:mm:ss with the fraction
+     * trimmed of trailing zeros), returning the number of chars written
+     */
+    static int formatIsoLocalDateTime(long micros, char[] buffer) {
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int fraction = (int) Math.floorMod(micros, 1_000_000L);
+        long days = Math.floorDiv(seconds, 86_400L);
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400L);
+
+        // Civil date from days since epoch (Howard Hinnant's algorithm)
+        long shifted = days + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        int pos = 0;
+        pos = writeDigits(buffer, pos, year, 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, month, 2);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, day, 2);
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, secondOfDay / 3600, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay / 60 % 60, 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, secondOfDay % 60, 2);
+        if (fraction != 0) {
+            int digits = 6;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            buffer[pos++] = '.';
+            pos = writeDigits(buffer, pos, fraction, digits);
+        }
+        return pos;
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
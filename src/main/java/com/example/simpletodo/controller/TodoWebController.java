@@ -1,6 +1,8 @@
 package com.example.simpletodo.controller;
 
 import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.service.TodoQueryCoalescer;
+import com.example.simpletodo.service.TodoQuotaExceededException;
 import com.example.simpletodo.service.TodoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +19,12 @@ import java.util.List;
 public class TodoWebController {
 
     private final TodoService todoService;
+    private final TodoQueryCoalescer todoQueries;
 
     @Autowired
-    public TodoWebController(TodoService todoService) {
+    public TodoWebController(TodoService todoService, TodoQueryCoalescer todoQueries) {
         this.todoService = todoService;
+        this.todoQueries = todoQueries;
     }
 
     /**
@@ -32,24 +36,24 @@ public class TodoWebController {
         List<Todo> todos;
         
         if (search != null && !search.trim().isEmpty()) {
-            todos = todoService.searchTodos(search);
+            todos = todoQueries.searchTodos(search);
             model.addAttribute("searchQuery", search);
         } else if ("completed".equals(filter)) {
-            todos = todoService.getCompletedTodos();
+            todos = todoQueries.getCompletedTodos();
             model.addAttribute("currentFilter", "completed");
         } else if ("pending".equals(filter)) {
-            todos = todoService.getPendingTodos();
+            todos = todoQueries.getPendingTodos();
             model.addAttribute("currentFilter", "pending");
         } else {
-            todos = todoService.getAllTodos();
+            todos = todoQueries.getAllTodos();
             model.addAttribute("currentFilter", "all");
         }
 
         model.addAttribute("todos", todos);
         model.addAttribute("newTodo", new Todo());
-        model.addAttribute("totalCount", todoService.getTotalTodoCount());
-        model.addAttribute("pendingCount", todoService.getPendingTodoCount());
-        model.addAttribute("completedCount", todoService.getCompletedTodoCount());
+        model.addAttribute("totalCount", todoQueries.getTotalTodoCount());
+        model.addAttribute("pendingCount", todoQueries.getPendingTodoCount());
+        model.addAttribute("completedCount", todoQueries.getCompletedTodoCount());
 
         return "index";
     }
@@ -64,11 +68,11 @@ public class TodoWebController {
                            Model model) {
         if (bindingResult.hasErrors()) {
             // Re-populate the model with necessary data
-            List<Todo> todos = todoService.getAllTodos();
+            List<Todo> todos = todoQueries.getAllTodos();
             model.addAttribute("todos", todos);
-            model.addAttribute("totalCount", todoService.getTotalTodoCount());
-            model.addAttribute("pendingCount", todoService.getPendingTodoCount());
-            model.addAttribute("completedCount", todoService.getCompletedTodoCount());
+            model.addAttribute("totalCount", todoQueries.getTotalTodoCount());
+            model.addAttribute("pendingCount", todoQueries.getPendingTodoCount());
+            model.addAttribute("completedCount", todoQueries.getCompletedTodoCount());
             model.addAttribute("currentFilter", "all");
             return "index";
         }
@@ -76,7 +80,7 @@ public class TodoWebController {
         try {
             todoService.createTodo(todo);
             redirectAttributes.addFlashAttribute("successMessage", "Todo created successfully!");
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | TodoQuotaExceededException e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error creating todo: " + e.getMessage());
         }
 
@@ -0,0 +1,45 @@
+package com.example.simpletodo.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of todos a tenant holds, kept alongside the todos so the per-tenant
+ * quota can be enforced with a single conditional UPDATE
+ */
+@Entity
+@Table(name = "tenant_todo_counts")
+public class TenantTodoCount {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Column(name = "todo_count", nullable = false)
+    private Long todoCount;
+
+    // Constructors
+    public TenantTodoCount() {
+    }
+
+    public TenantTodoCount(String tenantId, Long todoCount) {
+        this.tenantId = tenantId;
+        this.todoCount = todoCount;
+    }
+
+    // Getters and Setters
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Long getTodoCount() {
+        return todoCount;
+    }
+
+    public void setTodoCount(Long todoCount) {
+        this.todoCount = todoCount;
+    }
+}
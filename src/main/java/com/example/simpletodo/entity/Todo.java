@@ -1,8 +1,10 @@
 package com.example.simpletodo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 
 @Entity
@@ -13,6 +15,12 @@ public class Todo {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Set by Hibernate from the current tenant; every query is restricted to it
+    @TenantId
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
     @NotBlank(message = "Task description is required")
     @Size(max = 255, message = "Task description must not exceed 255 characters")
     @Column(nullable = false)
@@ -57,6 +65,14 @@ public class Todo {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getTask() {
         return task;
     }
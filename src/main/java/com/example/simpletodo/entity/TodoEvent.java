@@ -0,0 +1,125 @@
+package com.example.simpletodo.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_events")
+public class TodoEvent {
+
+    /**
+     * Kind of mutation performed on a todo
+     */
+    public enum Type {
+        CREATED, UPDATED, TOGGLED, COMPLETED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false)
+    private String task;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public TodoEvent() {
+    }
+
+    public TodoEvent(Todo todo, Type type) {
+        this.tenantId = todo.getTenantId();
+        this.todoId = todo.getId();
+        this.type = type;
+        this.task = todo.getTask();
+        this.completed = todo.getCompleted();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public void setTodoId(Long todoId) {
+        this.todoId = todoId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public void setTask(String task) {
+        this.task = task;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoEvent{" +
+                "id=" + id +
+                ", todoId=" + todoId +
+                ", type=" + type +
+                ", task='" + task + '\'' +
+                ", completed=" + completed +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.simpletodo.repository;
+
+import com.example.simpletodo.entity.TenantTodoCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TenantTodoCountRepository extends JpaRepository<TenantTodoCount, String> {
+
+    // Take one slot if the tenant is below the limit; returns 0 when full or when the tenant has no row yet.
+    // The row stays locked until the transaction ends, so concurrent creates cannot overshoot the limit.
+    @Modifying
+    @Query("UPDATE TenantTodoCount c SET c.todoCount = c.todoCount + 1 WHERE c.tenantId = :tenantId AND c.todoCount < :limit")
+    int incrementIfBelow(@Param("tenantId") String tenantId, @Param("limit") long limit);
+
+    // Give back slots for deleted todos
+    @Modifying
+    @Query("UPDATE TenantTodoCount c SET c.todoCount = c.todoCount - :count WHERE c.tenantId = :tenantId AND c.todoCount >= :count")
+    int decrement(@Param("tenantId") String tenantId, @Param("count") long count);
+}
@@ -0,0 +1,14 @@
+package com.example.simpletodo.repository;
+
+import com.example.simpletodo.entity.TodoEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoEventRepository extends JpaRepository<TodoEvent, Long> {
+
+    // Find the mutation history of a todo, oldest first
+    List<TodoEvent> findByTodoIdOrderByOccurredAtAscIdAsc(Long todoId);
+}
@@ -0,0 +1,11 @@
+package com.example.simpletodo.repository;
+
+/**
+ * Compact, immutable projection of a todo row for the read-only list
+ * endpoints. Timestamps are the row's local date-time expressed as
+ * microseconds since 1970-01-01T00:00, or {@link #NO_TIMESTAMP} when unset.
+ */
+public record TodoView(long id, String task, boolean completed, long createdAtMicros, long updatedAtMicros) {
+
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+}
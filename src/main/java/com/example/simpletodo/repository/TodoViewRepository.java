@@ -0,0 +1,59 @@
+package com.example.simpletodo.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Reads todo rows straight into {@link TodoView} records over JDBC, skipping
+ * the entity graph and persistence-context snapshots. Queries bypass
+ * Hibernate, so the tenant has to be passed in explicitly.
+ */
+@Repository
+public class TodoViewRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id, task, completed, created_at, updated_at FROM todos ";
+
+    private final JdbcTemplate jdbcTemplate;
+    // The driver maps TIMESTAMP columns through the JVM zone; undo that to keep the stored wall-clock time
+    private final TimeZone timeZone = TimeZone.getDefault();
+    private final RowMapper<TodoView> rowMapper = (rs, rowNum) -> new TodoView(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getBoolean(3),
+            toLocalMicros(rs.getTimestamp(4), timeZone),
+            toLocalMicros(rs.getTimestamp(5), timeZone));
+
+    public TodoViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Find a tenant's todos ordered by creation date (newest first)
+    public List<TodoView> findAllByOrderByCreatedAtDesc(String tenantId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE tenant_id = ? ORDER BY created_at DESC",
+                rowMapper, tenantId);
+    }
+
+    // Find a tenant's todos by completion status ordered by creation date
+    public List<TodoView> findByCompletedOrderByCreatedAtDesc(String tenantId, boolean completed) {
+        return jdbcTemplate.query(SELECT_COLUMNS + "WHERE tenant_id = ? AND completed = ? ORDER BY created_at DESC",
+                rowMapper, tenantId, completed);
+    }
+
+    /**
+     * Wall-clock time of the timestamp in the given zone, as microseconds since
+     * 1970-01-01T00:00; the same value Timestamp.toLocalDateTime() yields there
+     */
+    static long toLocalMicros(Timestamp timestamp, TimeZone timeZone) {
+        if (timestamp == null) {
+            return TodoView.NO_TIMESTAMP;
+        }
+        long millis = timestamp.getTime();
+        long localSeconds = Math.floorDiv(millis + timeZone.getOffset(millis), 1000L);
+        return localSeconds * 1_000_000L + timestamp.getNanos() / 1000;
+    }
+}
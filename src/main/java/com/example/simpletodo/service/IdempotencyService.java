@@ -0,0 +1,226 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.config.TenantContext;
+import com.example.simpletodo.service.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request at most once per Idempotency-Key and replays the
+ * recorded response to retries. Concurrent duplicates on this instance wait
+ * for the first execution; duplicates on other instances poll the shared
+ * store until the owner records its response. Keys are scoped to the
+ * current tenant.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Leaves room for the tenant prefix within the 255-character key column
+    private static final int MAX_KEY_LENGTH = 180;
+    private static final StoredResponse CONFLICT = new StoredResponse(null, HttpStatus.CONFLICT.value(), null);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter mismatchCounter;
+    private final Counter conflictCounter;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${todo.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.executedCounter = requestCounter(meterRegistry, "executed");
+        this.replayedCounter = requestCounter(meterRegistry, "replayed");
+        this.mismatchCounter = requestCounter(meterRegistry, "mismatch");
+        this.conflictCounter = requestCounter(meterRegistry, "conflict");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("todo.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the action once for the key, or replay the response recorded for it.
+     * Without a key the action simply runs.
+     *
+     * @param request  description of the request (method, path, payload); reusing a
+     *                 key for a different request is rejected with 422
+     * @param bodyType type of the response body, used when replaying from the store
+     */
+    public <T> ResponseEntity<T> execute(String key, String request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        String fingerprint = fingerprint(request);
+        key = TenantContext.getTenantId() + ':' + key;
+
+        CompletableFuture<StoredResponse> call = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return replay(await(existing), fingerprint, bodyType);
+        }
+
+        String token = UUID.randomUUID().toString();
+        try {
+            StoredResponse stored = store.claim(key, token, fingerprint);
+            if (stored != null && stored.isPending()) {
+                stored = awaitOtherInstance(key);
+            }
+            if (stored != null) {
+                call.complete(stored);
+                return replay(stored, fingerprint, bodyType);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException | Error e) {
+                store.release(key, token);
+                call.completeExceptionally(e);
+                throw e;
+            }
+            StoredResponse result = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                    toJson(response.getBody()));
+            if (response.getStatusCode().is5xxServerError()) {
+                // Server errors are not recorded so that a retry can succeed
+                store.release(key, token);
+            } else {
+                store.complete(key, token, result);
+            }
+            executedCounter.increment();
+            call.complete(result);
+            return response;
+        } finally {
+            inFlight.remove(key, call);
+            if (!call.isDone()) {
+                call.complete(CONFLICT);
+            }
+        }
+    }
+
+    /**
+     * Wait for the first execution on this instance, bounded like the wait for
+     * other instances; a timeout is reported as a conflict
+     */
+    private StoredResponse await(CompletableFuture<StoredResponse> call) {
+        try {
+            return call.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return CONFLICT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CONFLICT;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Poll the shared store while another instance executes the same key
+     */
+    private StoredResponse awaitOtherInstance(String key) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        long backoffMillis = 10;
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            StoredResponse stored = store.find(key);
+            if (stored == null || !stored.isPending()) {
+                // A released key means the owner failed; report a conflict rather than re-executing
+                return stored != null ? stored : CONFLICT;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 200);
+        }
+        return CONFLICT;
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> bodyType) {
+        if (stored == CONFLICT) {
+            conflictCounter.increment();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatchCounter.increment();
+            return ResponseEntity.unprocessableEntity().build();
+        }
+        replayedCounter.increment();
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(fromJson(stored.body(), bodyType));
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to record idempotent response", e);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> bodyType) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to replay idempotent response", e);
+        }
+    }
+
+    private static String fingerprint(String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.simpletodo.service;
+
+/**
+ * Storage for responses recorded under an Idempotency-Key
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Response recorded for a key; a status of 0 means the first request is still executing
+     */
+    record StoredResponse(String fingerprint, int status, String body) {
+
+        static StoredResponse pending(String fingerprint) {
+            return new StoredResponse(fingerprint, 0, null);
+        }
+
+        boolean isPending() {
+            return status == 0;
+        }
+    }
+
+    /**
+     * Claim the key for execution.
+     *
+     * @param token identifies this claim; only its holder may complete or release the key
+     * @return null if the caller now owns the key, otherwise the existing record
+     */
+    StoredResponse claim(String key, String token, String fingerprint);
+
+    /**
+     * Look up the record for a key, or null if there is none
+     */
+    StoredResponse find(String key);
+
+    /**
+     * Record the final response for a key, if it is still claimed with the token
+     */
+    void complete(String key, String token, StoredResponse response);
+
+    /**
+     * Give up a key claimed with the token so a retry can execute again
+     */
+    void release(String key, String token);
+}
@@ -0,0 +1,108 @@
+package com.example.simpletodo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single-instance idempotency store. Every entry lives for the same TTL, so
+ * insertion order is also expiry order and eviction only looks at the head
+ * of a queue; the oldest entries are dropped early if the size limit is hit.
+ * Entries that leave the map any other way are also taken out of the queue,
+ * so it never holds more than max-entries.
+ */
+@Service
+@ConditionalOnProperty(name = "todo.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> expiryOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public InMemoryIdempotencyStore(@Value("${todo.idempotency.ttl:PT24H}") Duration ttl,
+                                    @Value("${todo.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public StoredResponse claim(String key, String token, String fingerprint) {
+        long now = System.nanoTime();
+        evict(now);
+        Entry entry = new Entry(key, token, StoredResponse.pending(fingerprint), now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                expiryOrder.add(entry);
+                return null;
+            }
+            if (!existing.isExpired(now)) {
+                return existing.response;
+            }
+            if (entries.remove(key, existing)) {
+                expiryOrder.remove(existing);
+            }
+        }
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.isExpired(System.nanoTime()) ? null : entry.response;
+    }
+
+    @Override
+    public void complete(String key, String token, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.token.equals(token)) {
+            entry.response = response;
+        }
+    }
+
+    @Override
+    public void release(String key, String token) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.token.equals(token) && entries.remove(key, entry)) {
+            // Released keys are not at the head yet; leaving them queued would let the queue grow without bound
+            expiryOrder.remove(entry);
+        }
+    }
+
+    int queuedEntries() {
+        return expiryOrder.size();
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = expiryOrder.peek()) != null
+                && (head.isExpired(now) || entries.size() >= maxEntries || entries.get(head.key) != head)) {
+            if (expiryOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String token;
+        private final long expiresAt;
+        private volatile StoredResponse response;
+
+        Entry(String key, String token, StoredResponse response, long expiresAt) {
+            this.key = key;
+            this.token = token;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
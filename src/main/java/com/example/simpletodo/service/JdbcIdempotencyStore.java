@@ -0,0 +1,123 @@
+package com.example.simpletodo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PostgreSQL-backed idempotency store shared by all instances.
+ * The primary key on idempotency_keys decides which instance owns a key, and
+ * the claim token written with it identifies the request holding the claim.
+ * A pending claim only holds a lease, which this instance keeps renewing while
+ * the request runs; a key whose owner crashed mid-request can be claimed again
+ * once the lease runs out instead of answering 409 until the TTL expires.
+ */
+@Service
+@ConditionalOnProperty(name = "todo.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    // Claims held by requests running on this instance, by key
+    private final Map<String, String> heldClaims = new ConcurrentHashMap<>();
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${todo.idempotency.ttl:PT24H}") Duration ttl,
+                                @Value("${todo.idempotency.lease:PT1M}") Duration lease,
+                                @Value("${todo.idempotency.lease-renew-interval-ms:15000}") long renewIntervalMillis) {
+        if (lease.toMillis() <= 2 * renewIntervalMillis) {
+            throw new IllegalArgumentException("todo.idempotency.lease (" + lease + ") must be longer than"
+                    + " twice todo.idempotency.lease-renew-interval-ms (" + renewIntervalMillis + ")");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    /**
+     * Insert a pending row, or take over an expired one (including a pending
+     * row left behind by an instance that died before completing it)
+     */
+    @Override
+    public StoredResponse claim(String key, String token, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (idempotency_key, claim_token, fingerprint, created_at, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (idempotency_key) DO UPDATE SET claim_token = EXCLUDED.claim_token, " +
+                "fingerprint = EXCLUDED.fingerprint, status_code = NULL, response_body = NULL, " +
+                "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                "WHERE idempotency_keys.expires_at < EXCLUDED.created_at",
+                key, token, fingerprint, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(lease)));
+        if (claimed == 1) {
+            heldClaims.put(key, token);
+            return null;
+        }
+        return find(key);
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT fingerprint, status_code, response_body FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND expires_at >= ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)),
+                key, Timestamp.valueOf(LocalDateTime.now()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void complete(String key, String token, StoredResponse response) {
+        heldClaims.remove(key, token);
+        // Only our own pending claim may be completed; the TTL starts once the response is known
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status_code = ?, response_body = ?, expires_at = ? " +
+                "WHERE idempotency_key = ? AND claim_token = ? AND status_code IS NULL",
+                response.status(), response.body(), Timestamp.valueOf(LocalDateTime.now().plus(ttl)), key, token);
+    }
+
+    @Override
+    public void release(String key, String token) {
+        heldClaims.remove(key, token);
+        jdbcTemplate.update("DELETE FROM idempotency_keys " +
+                "WHERE idempotency_key = ? AND claim_token = ? AND status_code IS NULL", key, token);
+    }
+
+    /**
+     * Extend the lease of every claim whose request is still running here, so a
+     * slow request (e.g. one queued for a connection) is never taken over by a retry
+     */
+    @Scheduled(fixedDelayString = "${todo.idempotency.lease-renew-interval-ms:15000}")
+    public void renewLeases() {
+        if (heldClaims.isEmpty()) {
+            return;
+        }
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plus(lease));
+        List<Object[]> claims = new ArrayList<>(heldClaims.size());
+        heldClaims.forEach((key, token) -> claims.add(new Object[] {expiresAt, key, token}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE idempotency_keys SET expires_at = ? " +
+                "WHERE idempotency_key = ? AND claim_token = ? AND status_code IS NULL",
+                claims);
+    }
+
+    /**
+     * Remove expired keys so the table stays bounded
+     */
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.simpletodo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process token-bucket rate limiter keyed per client and endpoint tier.
+ * Bucket state is updated with CAS only, and the number of tracked clients
+ * is bounded: idle buckets are swept once the limit is reached, and clients
+ * that still do not fit share a single overflow bucket per tier. Tenant
+ * buckets are kept in a table of their own, because the tenant id is taken
+ * from a request header: a caller inventing tenant ids can at worst push new
+ * tenants into the tenant overflow bucket, never new clients.
+ */
+@Service
+public class RateLimiterService {
+
+    /**
+     * Cost class of an endpoint; each tier has its own budget
+     */
+    public enum Tier {
+        CHEAP, EXPENSIVE, TENANT
+    }
+
+    /**
+     * Outcome of an admission check
+     */
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+    }
+
+    private static final String OVERFLOW_CLIENT = "__overflow__";
+    private static final Decision ALLOWED = new Decision(true, 0);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BucketTable clientBuckets;
+    private final BucketTable tenantBuckets;
+    private final Map<Tier, BucketSpec> specs = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> allowedCounters = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> throttledCounters = new EnumMap<>(Tier.class);
+    private final boolean enabled;
+
+    public RateLimiterService(MeterRegistry meterRegistry,
+                              @Value("${todo.ratelimit.enabled:true}") boolean enabled,
+                              @Value("${todo.ratelimit.cheap.capacity:100}") long cheapCapacity,
+                              @Value("${todo.ratelimit.cheap.refill-per-second:50}") double cheapRefill,
+                              @Value("${todo.ratelimit.expensive.capacity:20}") long expensiveCapacity,
+                              @Value("${todo.ratelimit.expensive.refill-per-second:5}") double expensiveRefill,
+                              @Value("${todo.ratelimit.tenant.capacity:500}") long tenantCapacity,
+                              @Value("${todo.ratelimit.tenant.refill-per-second:200}") double tenantRefill,
+                              @Value("${todo.ratelimit.max-clients:10000}") int maxClients,
+                              @Value("${todo.ratelimit.max-tenants:10000}") int maxTenants,
+                              @Value("${todo.ratelimit.idle-timeout-seconds:300}") long idleTimeoutSeconds) {
+        this.enabled = enabled;
+        long idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        this.clientBuckets = new BucketTable(maxClients, idleTimeoutNanos);
+        this.tenantBuckets = new BucketTable(maxTenants, idleTimeoutNanos);
+        specs.put(Tier.CHEAP, BucketSpec.perSecond(cheapCapacity, cheapRefill));
+        specs.put(Tier.EXPENSIVE, BucketSpec.perSecond(expensiveCapacity, expensiveRefill));
+        specs.put(Tier.TENANT, BucketSpec.perSecond(tenantCapacity, tenantRefill));
+
+        for (Tier tier : Tier.values()) {
+            String tag = tier.name().toLowerCase();
+            allowedCounters.put(tier, Counter.builder("todo.ratelimit.requests")
+                    .description("Requests checked by the API rate limiter")
+                    .tag("tier", tag)
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry));
+            throttledCounters.put(tier, Counter.builder("todo.ratelimit.requests")
+                    .description("Requests checked by the API rate limiter")
+                    .tag("tier", tag)
+                    .tag("outcome", "throttled")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("todo.ratelimit.clients", clientBuckets.buckets, Map::size)
+                .description("Number of client buckets currently tracked")
+                .register(meterRegistry);
+        Gauge.builder("todo.ratelimit.tenants", tenantBuckets.buckets, Map::size)
+                .description("Number of tenant buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one token from the client's bucket for the given tier
+     */
+    public Decision tryAcquire(String clientKey, Tier tier) {
+        if (!enabled) {
+            return ALLOWED;
+        }
+        long now = System.nanoTime();
+        BucketTable table = tier == Tier.TENANT ? tenantBuckets : clientBuckets;
+        long waitNanos = table.bucketFor(clientKey, tier, specs.get(tier), now).tryAcquire(now);
+        if (waitNanos == 0) {
+            allowedCounters.get(tier).increment();
+            return ALLOWED;
+        }
+        throttledCounters.get(tier).increment();
+        long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / 1e9));
+        return new Decision(false, retryAfter);
+    }
+
+    /**
+     * Buckets of one kind of caller, bounded to a maximum number of entries
+     */
+    private static final class BucketTable {
+
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+        private final int maxSize;
+        private final long idleTimeoutNanos;
+
+        BucketTable(int maxSize, long idleTimeoutNanos) {
+            this.maxSize = maxSize;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+        }
+
+        TokenBucket bucketFor(String clientKey, Tier tier, BucketSpec spec, long now) {
+            String key = tier.name() + ':' + clientKey;
+            TokenBucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxSize) {
+                sweepIdleBuckets(now);
+                if (buckets.size() >= maxSize) {
+                    key = tier.name() + ':' + OVERFLOW_CLIENT;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new TokenBucket(spec, now));
+        }
+
+        /**
+         * Drop buckets that have not been touched within the idle timeout.
+         * At most one sweep runs per second, by whichever thread claims the
+         * slot; the others carry on without waiting, so a flood of new clients
+         * against a full map does not turn into a full scan per request.
+         */
+        private void sweepIdleBuckets(long now) {
+            long last = lastSweepNanos.get();
+            if (now - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+                return;
+            }
+            buckets.entrySet().removeIf(entry ->
+                    !entry.getKey().endsWith(OVERFLOW_CLIENT) && now - entry.getValue().lastSeen() > idleTimeoutNanos);
+        }
+    }
+
+    private record BucketSpec(long capacity, double tokensPerNano) {
+        static BucketSpec perSecond(long capacity, double refillPerSecond) {
+            return new BucketSpec(capacity, refillPerSecond / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private record BucketState(double tokens, long timestamp) {
+    }
+
+    /**
+     * Lock-free token bucket; refill is computed lazily on each acquire
+     */
+    private static final class TokenBucket {
+
+        private final BucketSpec spec;
+        private final AtomicReference<BucketState> state;
+
+        TokenBucket(BucketSpec spec, long now) {
+            this.spec = spec;
+            this.state = new AtomicReference<>(new BucketState(spec.capacity(), now));
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise nanoseconds until one is available
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                BucketState current = state.get();
+                long elapsed = Math.max(0, now - current.timestamp());
+                double tokens = Math.min(spec.capacity(), current.tokens() + elapsed * spec.tokensPerNano());
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / spec.tokensPerNano());
+                }
+                if (state.compareAndSet(current, new BucketState(tokens - 1, Math.max(now, current.timestamp())))) {
+                    return 0;
+                }
+            }
+        }
+
+        long lastSeen() {
+            return state.get().timestamp();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.simpletodo.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls that share a key into a single execution.
+ * The first caller runs the loader; callers arriving while it is in flight
+ * wait for and share its result (or exception). Nothing is kept once the
+ * call completes, so results are never older than the request itself.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, Call> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+
+    public SingleFlight(MeterRegistry meterRegistry, String metricName) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+    }
+
+    /**
+     * Run the loader for the key, or join an identical call already in flight
+     *
+     * @param tag low-cardinality name of the query, used to tag the metric
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, String tag, Supplier<V> loader) {
+        Call call = new Call();
+        // Joining happens inside compute, which is atomic with the leader's remove:
+        // once the leader has removed its call, no one can join it any more, so the
+        // caller count it records afterwards is exact
+        Call current = inFlight.compute(key, (k, existing) -> existing == null ? call : existing.joined());
+        if (current != call) {
+            try {
+                return (V) current.result.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        try {
+            V value = loader.get();
+            inFlight.remove(key, call);
+            call.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            DistributionSummary.builder(metricName)
+                    .description("Callers served by each coalesced query execution")
+                    .tag("query", tag)
+                    .register(meterRegistry)
+                    .record(call.callers.get());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static final class Call {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+
+        Call joined() {
+            callers.incrementAndGet();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.entity.TodoEvent;
+import com.example.simpletodo.repository.TodoEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit log of todo mutations.
+ * Events are queued in a bounded ring buffer once the surrounding transaction
+ * commits, and a single background writer persists them to todo_events in
+ * JDBC batches, so mutation requests never wait on the audit INSERT.
+ * A batch that fails to write is retried with backoff before it is dropped.
+ */
+@Service
+public class TodoEventRecorder implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoEventRecorder.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO todo_events (tenant_id, todo_id, event_type, task, completed, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long INITIAL_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * What to do with an event when the buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Discard the new event and count it as dropped */
+        DROP_NEWEST,
+        /** Wait up to the block timeout for space, then drop */
+        BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoEventRepository todoEventRepository;
+    private final RingBuffer<TodoEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long blockTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final long retryTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter batchFailureCounter;
+    private final Timer batchTimer;
+
+    private final Object lateDrainLock = new Object();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private volatile boolean writerAbandoned;
+
+    public TodoEventRecorder(JdbcTemplate jdbcTemplate,
+                             TodoEventRepository todoEventRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${todo.events.buffer-capacity:65536}") int bufferCapacity,
+                             @Value("${todo.events.batch-size:500}") int batchSize,
+                             @Value("${todo.events.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                             @Value("${todo.events.block-timeout-ms:50}") long blockTimeoutMillis,
+                             @Value("${todo.events.flush-interval-ms:50}") long flushIntervalMillis,
+                             @Value("${todo.events.retry-timeout-ms:60000}") long retryTimeoutMillis,
+                             @Value("${todo.events.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoEventRepository = todoEventRepository;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.retryTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(retryTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        this.enqueuedCounter = eventCounter(meterRegistry, "enqueued");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.writtenCounter = eventCounter(meterRegistry, "written");
+        this.batchFailureCounter = Counter.builder("todo.events.batch.failures")
+                .description("Failed attempts to persist a batch of todo events")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("todo.events.batch")
+                .description("Time to persist one batch of todo events")
+                .register(meterRegistry);
+        Gauge.builder("todo.events.buffer.size", buffer, RingBuffer::size)
+                .description("Todo events waiting to be persisted")
+                .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("todo.events")
+                .description("Todo mutation events by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a mutation of the todo. Inside a transaction the event is only
+     * queued after commit, so rolled-back changes leave no history.
+     */
+    public void record(Todo todo, TodoEvent.Type type) {
+        TodoEvent event = new TodoEvent(todo, type);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * Get the persisted history of a todo, oldest first.
+     * Events still waiting in the buffer are not included.
+     */
+    public List<TodoEvent> getHistory(Long todoId) {
+        return todoEventRepository.findByTodoIdOrderByOccurredAtAscIdAsc(todoId);
+    }
+
+    private void enqueue(TodoEvent event) {
+        if (writerAbandoned) {
+            // The writer is stuck past the shutdown timeout; nothing will consume the buffer
+            droppedCounter.increment();
+            return;
+        }
+        if (buffer.offer(event)) {
+            accepted();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK && running) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(event)) {
+                    accepted();
+                    return;
+                }
+            }
+        }
+        droppedCounter.increment();
+    }
+
+    private void runWriter() {
+        List<TodoEvent> batch = new ArrayList<>(batchSize);
+        // Once stop() has given up on the writer, the events still queued are already counted as dropped
+        while ((running || buffer.size() > 0) && !writerAbandoned) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write the batch, retrying with exponential backoff while the database is
+     * unavailable. The writer stops draining meanwhile, so later events wait in
+     * the buffer behind the batch. The batch is dropped once retries have gone on
+     * for the retry timeout, or once stop() has given up on the writer.
+     */
+    private void writeWithRetry(List<TodoEvent> batch) {
+        long start = System.nanoTime();
+        long backoffNanos = INITIAL_RETRY_BACKOFF_NANOS;
+        while (!writeBatch(batch)) {
+            long elapsed = System.nanoTime() - start;
+            if (writerAbandoned || elapsed >= retryTimeoutNanos) {
+                droppedCounter.increment(batch.size());
+                logger.error("Dropped {} todo events after retrying for {} ms", batch.size(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return;
+            }
+            LockSupport.parkNanos(backoffNanos);
+            backoffNanos = Math.min(backoffNanos * 2, MAX_RETRY_BACKOFF_NANOS);
+        }
+    }
+
+    private void accepted() {
+        enqueuedCounter.increment();
+        if (!running) {
+            // A late afterCommit callback: the writer may already have made its final pass
+            drainAfterStop();
+        }
+    }
+
+    /**
+     * Persist events that reached the buffer after the writer stopped, on the
+     * calling thread. Does nothing while the writer is still alive: it, or
+     * stop() once it has exited, picks the events up, so the buffer never has
+     * two consumers at once.
+     */
+    private void drainAfterStop() {
+        synchronized (lateDrainLock) {
+            Thread thread = writerThread;
+            if (thread != null && thread.isAlive()) {
+                return;
+            }
+            List<TodoEvent> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                // At shutdown there is no time to retry
+                if (!writeBatch(batch)) {
+                    droppedCounter.increment(batch.size());
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return whether the batch was persisted
+     */
+    private boolean writeBatch(List<TodoEvent> batch) {
+        try {
+            batchTimer.record(() -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setString(1, event.getTenantId());
+                    ps.setLong(2, event.getTodoId());
+                    ps.setString(3, event.getType().name());
+                    ps.setString(4, event.getTask());
+                    ps.setBoolean(5, event.getCompleted());
+                    ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+                });
+            });
+            writtenCounter.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            batchFailureCounter.increment();
+            logger.warn("Failed to persist {} todo events", batch.size(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "todo-event-writer");
+        thread.setDaemon(true);
+        thread.start();
+        writerThread = thread;
+        logger.info("Todo event writer started (buffer capacity {}, batch size {}, overflow policy {})",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * Stop accepting new work and drain the buffer before the datasource closes
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Todo event writer did not drain within {} ms; {} events lost",
+                    shutdownTimeoutMillis, buffer.size());
+            writerAbandoned = true;
+            droppedCounter.increment(buffer.size());
+            return;
+        }
+        writerThread = null;
+        drainAfterStop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server so in-flight requests can still record events
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
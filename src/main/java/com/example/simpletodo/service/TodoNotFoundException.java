@@ -0,0 +1,11 @@
+package com.example.simpletodo.service;
+
+/**
+ * Thrown when a todo does not exist for the current tenant
+ */
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException(Long id) {
+        super("Todo not found with id: " + id);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.config.TenantContext;
+import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.repository.TodoView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight front for the read methods of {@link TodoService}.
+ * Identical reads that arrive while one is already running share its
+ * database call instead of issuing their own. Keys include the tenant, so
+ * results are only ever shared within one tenant.
+ */
+@Service
+public class TodoQueryCoalescer {
+
+    private final TodoService todoService;
+    private final SingleFlight<String> singleFlight;
+
+    @Autowired
+    public TodoQueryCoalescer(TodoService todoService, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.singleFlight = new SingleFlight<>(meterRegistry, "todo.singleflight.callers");
+    }
+
+    /**
+     * Get all todos ordered by creation date (newest first)
+     */
+    public List<Todo> getAllTodos() {
+        return shared("all", "all", todoService::getAllTodos);
+    }
+
+    /**
+     * Get pending (incomplete) todos
+     */
+    public List<Todo> getPendingTodos() {
+        return shared("pending", "pending", todoService::getPendingTodos);
+    }
+
+    /**
+     * Get completed todos
+     */
+    public List<Todo> getCompletedTodos() {
+        return shared("completed", "completed", todoService::getCompletedTodos);
+    }
+
+    /**
+     * Get all todos as read-only views (newest first)
+     */
+    public List<TodoView> getAllTodoViews() {
+        return shared("views:all", "views-all", todoService::getAllTodoViews);
+    }
+
+    /**
+     * Get todos by completion status as read-only views
+     */
+    public List<TodoView> getTodoViewsByStatus(boolean completed) {
+        return completed
+                ? shared("views:completed", "views-completed", () -> todoService.getTodoViewsByStatus(true))
+                : shared("views:pending", "views-pending", () -> todoService.getTodoViewsByStatus(false));
+    }
+
+    /**
+     * Search todos by task content
+     */
+    public List<Todo> searchTodos(String searchText) {
+        if (searchText == null || searchText.trim().isEmpty()) {
+            return getAllTodos();
+        }
+        String query = searchText.trim();
+        return shared("search:" + query, "search", () -> todoService.searchTodos(query));
+    }
+
+    /**
+     * Get total count of all todos
+     */
+    public long getTotalTodoCount() {
+        return singleFlight.execute(tenantKey("count:total"), "count", todoService::getTotalTodoCount);
+    }
+
+    /**
+     * Get count of pending todos
+     */
+    public long getPendingTodoCount() {
+        return singleFlight.execute(tenantKey("count:pending"), "count", todoService::getPendingTodoCount);
+    }
+
+    /**
+     * Get count of completed todos
+     */
+    public long getCompletedTodoCount() {
+        return singleFlight.execute(tenantKey("count:completed"), "count", todoService::getCompletedTodoCount);
+    }
+
+    // The list is handed to every waiting caller, so none of them may modify it
+    private <T> List<T> shared(String key, String tag, Supplier<List<T>> loader) {
+        return singleFlight.execute(tenantKey(key), tag, () -> Collections.unmodifiableList(loader.get()));
+    }
+
+    private static String tenantKey(String key) {
+        return TenantContext.getTenantId() + '|' + key;
+    }
+}
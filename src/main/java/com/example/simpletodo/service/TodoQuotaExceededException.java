@@ -0,0 +1,11 @@
+package com.example.simpletodo.service;
+
+/**
+ * Thrown when a tenant tries to create more todos than its quota allows
+ */
+public class TodoQuotaExceededException extends RuntimeException {
+
+    public TodoQuotaExceededException(String message) {
+        super(message);
+    }
+}
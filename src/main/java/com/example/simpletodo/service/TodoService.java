@@ -1,11 +1,22 @@
 package com.example.simpletodo.service;
 
+import com.example.simpletodo.config.TenantContext;
 import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.entity.TodoEvent;
+import com.example.simpletodo.repository.TenantTodoCountRepository;
 import com.example.simpletodo.repository.TodoRepository;
+import com.example.simpletodo.repository.TodoView;
+import com.example.simpletodo.repository.TodoViewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +24,26 @@ import java.util.Optional;
 @Transactional
 public class TodoService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final TodoRepository todoRepository;
+    private final TodoViewRepository todoViewRepository;
+    private final TodoEventRecorder todoEventRecorder;
+    private final TenantTodoCountRepository tenantTodoCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxTodosPerTenant;
 
     @Autowired
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoViewRepository todoViewRepository,
+                       TodoEventRecorder todoEventRecorder, TenantTodoCountRepository tenantTodoCountRepository,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${todo.tenant.max-todos:10000}") long maxTodosPerTenant) {
         this.todoRepository = todoRepository;
+        this.todoViewRepository = todoViewRepository;
+        this.todoEventRecorder = todoEventRecorder;
+        this.tenantTodoCountRepository = tenantTodoCountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxTodosPerTenant = maxTodosPerTenant;
     }
 
     /**
@@ -48,6 +74,20 @@ public class TodoService {
         return getTodosByStatus(true);
     }
 
+    /**
+     * Get all todos as read-only views, ordered by creation date (newest first)
+     */
+    public List<TodoView> getAllTodoViews() {
+        return todoViewRepository.findAllByOrderByCreatedAtDesc(TenantContext.getTenantId());
+    }
+
+    /**
+     * Get todos by completion status as read-only views
+     */
+    public List<TodoView> getTodoViewsByStatus(boolean completed) {
+        return todoViewRepository.findByCompletedOrderByCreatedAtDesc(TenantContext.getTenantId(), completed);
+    }
+
     /**
      * Find a todo by ID
      */
@@ -62,8 +102,10 @@ public class TodoService {
         if (task == null || task.trim().isEmpty()) {
             throw new IllegalArgumentException("Task description cannot be empty");
         }
-        Todo todo = new Todo(task.trim());
-        return todoRepository.save(todo);
+        reserveTodoSlot();
+        Todo todo = todoRepository.save(new Todo(task.trim()));
+        todoEventRecorder.record(todo, TodoEvent.Type.CREATED);
+        return todo;
     }
 
     /**
@@ -73,8 +115,63 @@ public class TodoService {
         if (todo.getTask() == null || todo.getTask().trim().isEmpty()) {
             throw new IllegalArgumentException("Task description cannot be empty");
         }
+        reserveTodoSlot();
         todo.setCompleted(false); // Ensure new todos are not completed
-        return todoRepository.save(todo);
+        Todo savedTodo = todoRepository.save(todo);
+        todoEventRecorder.record(savedTodo, TodoEvent.Type.CREATED);
+        return savedTodo;
+    }
+
+    /**
+     * Count the new todo against the current tenant's quota, or reject it once
+     * the tenant holds its maximum. The counter row is incremented only while
+     * below the limit and stays locked until this transaction ends, so
+     * concurrent creates cannot exceed it; a rolled-back create gives the slot back.
+     */
+    private void reserveTodoSlot() {
+        String tenantId = TenantContext.getTenantId();
+        if (tenantTodoCountRepository.incrementIfBelow(tenantId, maxTodosPerTenant) == 1) {
+            return;
+        }
+        if (!tenantTodoCountRepository.existsById(tenantId)) {
+            createTenantCounter(tenantId);
+            if (tenantTodoCountRepository.incrementIfBelow(tenantId, maxTodosPerTenant) == 1) {
+                return;
+            }
+        }
+        throw new TodoQuotaExceededException(
+                "Todo quota of " + maxTodosPerTenant + " reached for tenant " + tenantId);
+    }
+
+    /**
+     * Create a tenant's counter row behind a JDBC savepoint on the current
+     * connection, so losing the race with a concurrent first create rolls back
+     * only the INSERT instead of aborting the transaction (as PostgreSQL would),
+     * and no second pooled connection is needed
+     */
+    private void createTenantCounter(String tenantId) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO tenant_todo_counts (tenant_id, todo_count) VALUES (?, 0)")) {
+                insert.setString(1, tenantId);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                // Another request created it first
+            }
+            return null;
+        });
+    }
+
+    private void releaseTodoSlots(long count) {
+        if (count > 0) {
+            tenantTodoCountRepository.decrement(TenantContext.getTenantId(), count);
+        }
     }
 
     /**
@@ -87,9 +184,11 @@ public class TodoService {
             if (task != null && !task.trim().isEmpty()) {
                 todo.setTask(task.trim());
             }
-            return todoRepository.save(todo);
+            Todo savedTodo = todoRepository.save(todo);
+            todoEventRecorder.record(savedTodo, TodoEvent.Type.UPDATED);
+            return savedTodo;
         }
-        throw new RuntimeException("Todo not found with id: " + id);
+        throw new TodoNotFoundException(id);
     }
 
     /**
@@ -100,9 +199,11 @@ public class TodoService {
         if (todoOptional.isPresent()) {
             Todo todo = todoOptional.get();
             todo.setCompleted(!todo.getCompleted());
-            return todoRepository.save(todo);
+            Todo savedTodo = todoRepository.save(todo);
+            todoEventRecorder.record(savedTodo, TodoEvent.Type.TOGGLED);
+            return savedTodo;
         }
-        throw new RuntimeException("Todo not found with id: " + id);
+        throw new TodoNotFoundException(id);
     }
 
     /**
@@ -113,22 +214,35 @@ public class TodoService {
         if (todoOptional.isPresent()) {
             Todo todo = todoOptional.get();
             todo.setCompleted(true);
-            return todoRepository.save(todo);
+            Todo savedTodo = todoRepository.save(todo);
+            todoEventRecorder.record(savedTodo, TodoEvent.Type.COMPLETED);
+            return savedTodo;
         }
-        throw new RuntimeException("Todo not found with id: " + id);
+        throw new TodoNotFoundException(id);
     }
 
     /**
      * Delete a todo by ID
      */
     public void deleteTodo(Long id) {
-        if (todoRepository.existsById(id)) {
-            todoRepository.deleteById(id);
+        Optional<Todo> todoOptional = todoRepository.findById(id);
+        if (todoOptional.isPresent()) {
+            Todo todo = todoOptional.get();
+            todoRepository.delete(todo);
+            releaseTodoSlots(1);
+            todoEventRecorder.record(todo, TodoEvent.Type.DELETED);
         } else {
-            throw new RuntimeException("Todo not found with id: " + id);
+            throw new TodoNotFoundException(id);
         }
     }
 
+    /**
+     * Get the recorded mutation history of a todo
+     */
+    public List<TodoEvent> getTodoHistory(Long id) {
+        return todoEventRecorder.getHistory(id);
+    }
+
     /**
      * Search todos by task content
      */
@@ -173,5 +287,7 @@ public class TodoService {
     public void deleteCompletedTodos() {
         List<Todo> completedTodos = getCompletedTodos();
         todoRepository.deleteAll(completedTodos);
+        releaseTodoSlots(completedTodos.size());
+        completedTodos.forEach(todo -> todoEventRecorder.record(todo, TodoEvent.Type.DELETED));
     }
 }
@@ -0,0 +1,22 @@
+-- Create todo_events table
+-- This migration creates the audit log of mutations performed on todo items
+
+CREATE TABLE todo_events (
+    id BIGSERIAL PRIMARY KEY,
+    todo_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    task VARCHAR(255) NOT NULL,
+    completed BOOLEAN NOT NULL,
+    occurred_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create an index for reading the history of a single todo in order
+CREATE INDEX idx_todo_events_todo_id ON todo_events(todo_id, occurred_at);
+
+-- Add comments for documentation
+COMMENT ON TABLE todo_events IS 'Append-only history of todo mutations';
+COMMENT ON COLUMN todo_events.todo_id IS 'Todo the event belongs to (no foreign key, history outlives deletes)';
+COMMENT ON COLUMN todo_events.event_type IS 'Kind of mutation: CREATED, UPDATED, TOGGLED, COMPLETED or DELETED';
+COMMENT ON COLUMN todo_events.task IS 'Task description after the mutation';
+COMMENT ON COLUMN todo_events.completed IS 'Completion flag after the mutation';
+COMMENT ON COLUMN todo_events.occurred_at IS 'Timestamp when the mutation happened';
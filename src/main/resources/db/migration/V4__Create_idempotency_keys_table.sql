@@ -0,0 +1,23 @@
+-- Create idempotency_keys table
+-- This migration creates the shared store used to replay responses for Idempotency-Key retries
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Create an index for purging expired keys
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Add comments for documentation
+COMMENT ON TABLE idempotency_keys IS 'Recorded responses for requests sent with an Idempotency-Key header';
+COMMENT ON COLUMN idempotency_keys.idempotency_key IS 'Client-supplied Idempotency-Key header value';
+COMMENT ON COLUMN idempotency_keys.fingerprint IS 'SHA-256 of the request the key was first used for';
+COMMENT ON COLUMN idempotency_keys.status_code IS 'HTTP status of the recorded response, NULL while the request is executing';
+COMMENT ON COLUMN idempotency_keys.response_body IS 'JSON body of the recorded response';
+COMMENT ON COLUMN idempotency_keys.created_at IS 'Timestamp when the key was first claimed';
+COMMENT ON COLUMN idempotency_keys.expires_at IS 'Timestamp after which the key may be reused';
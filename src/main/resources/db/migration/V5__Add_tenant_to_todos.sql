@@ -0,0 +1,27 @@
+-- Add tenant ownership to todos and todo events
+-- Existing rows are assigned to the 'default' tenant, which is also used for requests without a tenant header
+
+ALTER TABLE todos ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE todo_events ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- Every query is now restricted to one tenant, so indexes lead with tenant_id
+DROP INDEX idx_todos_created_at;
+DROP INDEX idx_todos_completed;
+DROP INDEX idx_todos_pending;
+DROP INDEX idx_todo_events_todo_id;
+
+-- Create an index on tenant and created_at for efficient per-tenant ordering
+CREATE INDEX idx_todos_tenant_created_at ON todos(tenant_id, created_at DESC);
+
+-- Create an index on tenant and completed for per-tenant filtering and counts
+CREATE INDEX idx_todos_tenant_completed ON todos(tenant_id, completed);
+
+-- Create a partial index for each tenant's pending todos (most common query)
+CREATE INDEX idx_todos_tenant_pending ON todos(tenant_id, created_at DESC) WHERE completed = FALSE;
+
+-- Create an index for reading the history of a single todo in order
+CREATE INDEX idx_todo_events_tenant_todo_id ON todo_events(tenant_id, todo_id, occurred_at);
+
+-- Add comments for documentation
+COMMENT ON COLUMN todos.tenant_id IS 'Tenant (team) that owns the todo';
+COMMENT ON COLUMN todo_events.tenant_id IS 'Tenant (team) that owns the todo the event belongs to';
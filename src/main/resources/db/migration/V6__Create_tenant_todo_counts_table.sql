@@ -0,0 +1,16 @@
+-- Create tenant_todo_counts table
+-- Per-tenant todo counters used to enforce todo.tenant.max-todos atomically
+
+CREATE TABLE tenant_todo_counts (
+    tenant_id VARCHAR(64) PRIMARY KEY,
+    todo_count BIGINT NOT NULL CHECK (todo_count >= 0)
+);
+
+-- Seed the counters from the todos that already exist
+INSERT INTO tenant_todo_counts (tenant_id, todo_count)
+SELECT tenant_id, COUNT(*) FROM todos GROUP BY tenant_id;
+
+-- Add comments for documentation
+COMMENT ON TABLE tenant_todo_counts IS 'Number of todos held by each tenant, maintained with every create and delete';
+COMMENT ON COLUMN tenant_todo_counts.tenant_id IS 'Tenant (team) the counter belongs to';
+COMMENT ON COLUMN tenant_todo_counts.todo_count IS 'Current number of todos owned by the tenant';
@@ -0,0 +1,7 @@
+-- Add claim_token to idempotency_keys
+-- Identifies the request holding a pending claim, so only that request can complete or release the key
+
+ALTER TABLE idempotency_keys ADD COLUMN claim_token VARCHAR(36);
+
+-- Add comments for documentation
+COMMENT ON COLUMN idempotency_keys.claim_token IS 'Random token of the request that claimed the key; complete and release must present it';
@@ -0,0 +1,90 @@
+package com.example.simpletodo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoViewJsonWriterTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // Leap days, including the 400-year century rule
+            "2024-02-29T12:00:00",
+            "2000-02-29T23:59:59.999999",
+            "1600-02-29T00:00:00",
+            // Century years that are not leap years
+            "1900-02-28T23:59:59",
+            "1900-03-01T00:00:00",
+            "2100-02-28T12:30:00",
+            "2100-03-01T00:00:00.000001",
+            // Before 1970, where seconds and micros are negative
+            "1969-12-31T23:59:59.999999",
+            "1969-12-31T23:59:59",
+            "1969-01-01T00:00:00.5",
+            "1583-10-15T06:07:08.09",
+            "0001-01-01T00:00:00",
+            // Epoch and zero fraction
+            "1970-01-01T00:00:00",
+            "2024-06-15T10:20:30",
+            // One, two and six fraction digits
+            "2024-06-15T10:20:30.1",
+            "2024-06-15T10:20:30.12",
+            "2024-06-15T10:20:30.123456",
+            "2024-06-15T10:20:30.000010",
+            "9999-12-31T23:59:59.999999"
+    })
+    void formatsLikeIsoLocalDateTime(String text) {
+        LocalDateTime dateTime = LocalDateTime.parse(text);
+
+        assertThat(format(dateTime)).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+    }
+
+    @Test
+    void trimsTrailingZerosFromFraction() {
+        assertThat(format(LocalDateTime.parse("2024-06-15T10:20:30.100"))).isEqualTo("2024-06-15T10:20:30.1");
+        assertThat(format(LocalDateTime.parse("2024-06-15T10:20:30.120"))).isEqualTo("2024-06-15T10:20:30.12");
+        assertThat(format(LocalDateTime.parse("2024-06-15T10:20:30.000"))).isEqualTo("2024-06-15T10:20:30");
+    }
+
+    @Test
+    void matchesDateTimeFormatterForRandomTimestamps() {
+        SplittableRandom random = new SplittableRandom(20240229L);
+        long min = toMicros(LocalDateTime.of(1, 1, 1, 0, 0));
+        long max = toMicros(LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_000));
+        for (int i = 0; i < 200_000; i++) {
+            long micros = random.nextLong(min, max + 1);
+            // Exercise short fractions as often as full ones
+            switch (i % 4) {
+                case 1 -> micros -= Math.floorMod(micros, 1_000_000L);
+                case 2 -> micros -= Math.floorMod(micros, 100_000L);
+                case 3 -> micros -= Math.floorMod(micros, 10_000L);
+                default -> {
+                }
+            }
+            LocalDateTime dateTime = EPOCH.plus(micros, ChronoUnit.MICROS);
+
+            assertThat(format(dateTime)).as("micros %d", micros)
+                    .isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+        }
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        char[] buffer = new char[32];
+        int length = TodoViewJsonWriter.formatIsoLocalDateTime(toMicros(dateTime), buffer);
+        return new String(buffer, 0, length);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1000;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.simpletodo.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoViewRepositoryTest {
+
+    private TimeZone originalDefault;
+
+    @BeforeEach
+    void rememberDefaultZone() {
+        originalDefault = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    void restoreDefaultZone() {
+        TimeZone.setDefault(originalDefault);
+    }
+
+    /**
+     * Instants just before, inside and just after DST transitions. The result
+     * must be the wall-clock time the entity path sees (Timestamp.toLocalDateTime()
+     * in the JVM zone), including in the repeated hour after clocks go back.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            // Spring forward: 02:00 local does not exist
+            "America/New_York, 2024-03-10T06:59:59.999999Z, 2024-03-10T01:59:59.999999",
+            "America/New_York, 2024-03-10T07:00:00Z,        2024-03-10T03:00:00",
+            "America/New_York, 2024-03-10T07:30:00.5Z,      2024-03-10T03:30:00.5",
+            // Fall back: 01:00-02:00 local happens twice
+            "America/New_York, 2024-11-03T05:30:00.25Z,     2024-11-03T01:30:00.25",
+            "America/New_York, 2024-11-03T06:30:00.25Z,     2024-11-03T01:30:00.25",
+            "America/New_York, 2024-11-03T07:00:00Z,        2024-11-03T02:00:00",
+            "Europe/Berlin,    2024-03-31T00:59:59Z,        2024-03-31T01:59:59",
+            "Europe/Berlin,    2024-03-31T01:00:00Z,        2024-03-31T03:00:00",
+            "Europe/Berlin,    2024-10-27T00:30:00.000001Z, 2024-10-27T02:30:00.000001",
+            "Europe/Berlin,    2024-10-27T01:30:00.000001Z, 2024-10-27T02:30:00.000001",
+            // Zone without DST, and a pre-1970 instant
+            "UTC,              1969-12-31T23:59:59.5Z,      1969-12-31T23:59:59.5",
+            "Europe/Berlin,    1969-07-20T20:17:40.123Z,    1969-07-20T21:17:40.123"
+    })
+    void toLocalMicrosKeepsWallClockTimeAcrossDstTransitions(String zone, String instant, String expectedLocal) {
+        TimeZone timeZone = TimeZone.getTimeZone(zone);
+        TimeZone.setDefault(timeZone);
+        Timestamp timestamp = Timestamp.from(Instant.parse(instant));
+
+        long micros = TodoViewRepository.toLocalMicros(timestamp, timeZone);
+
+        assertThat(micros).isEqualTo(toMicros(LocalDateTime.parse(expectedLocal)));
+        assertThat(micros).isEqualTo(toMicros(timestamp.toLocalDateTime()));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1000;
+    }
+}
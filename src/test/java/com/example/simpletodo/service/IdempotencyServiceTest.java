@@ -0,0 +1,143 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.config.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private static final int MAX_ENTRIES = 100;
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(Duration.ofHours(24), MAX_ENTRIES);
+        service = new IdempotencyService(store, new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void concurrentDuplicatesExecuteOnceAndReplayTheResponse() throws Exception {
+        int callers = 16;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        ConcurrentLinkedQueue<ResponseEntity<String>> responses = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    arrived.incrementAndGet();
+                    responses.add(service.execute("key", "POST /api/todos task", String.class, () -> {
+                        executions.incrementAndGet();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ResponseEntity.status(HttpStatus.CREATED).body("created");
+                    }));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        // Release the first execution only once every caller is parked on it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (arrived.get() < callers
+                || !threads.stream().allMatch(t -> t.getState() == Thread.State.TIMED_WAITING)) {
+            assertThat(System.nanoTime()).as("callers parked before timeout").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).hasSize(callers).allSatisfy(response -> {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isEqualTo("created");
+        });
+        assertThat(responses).filteredOn(r -> r.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER))
+                .hasSize(callers - 1);
+    }
+
+    @Test
+    void infrastructureFailureReleasesTheKeySoARetryExecutes() {
+        QueryTimeoutException failure = new QueryTimeoutException("pool timeout");
+        assertThatThrownBy(() -> service.execute("key", "PATCH /api/todos/1/toggle", String.class, () -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        AtomicInteger executions = new AtomicInteger();
+        ResponseEntity<String> retry = service.execute("key", "PATCH /api/todos/1/toggle", String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("toggled");
+        });
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getBody()).isEqualTo("toggled");
+        assertThat(retry.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void clientErrorIsRecordedAndReplayed() {
+        AtomicInteger executions = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<String> response = service.execute("key", "PATCH /api/todos/1/toggle", String.class, () -> {
+                executions.incrementAndGet();
+                return ResponseEntity.notFound().build();
+            });
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedRequestsDuringAnOutageDoNotGrowTheStore() {
+        service.execute("live", "POST /api/todos task", String.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("created"));
+
+        for (int i = 0; i < 10 * MAX_ENTRIES; i++) {
+            String key = "retry-" + i;
+            assertThatThrownBy(() -> service.execute(key, "POST /api/todos task", String.class, () -> {
+                throw new QueryTimeoutException("database unavailable");
+            })).isInstanceOf(QueryTimeoutException.class);
+            service.execute(key, "POST /api/todos task", String.class,
+                    () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+
+        assertThat(store.queuedEntries()).isEqualTo(1);
+    }
+}
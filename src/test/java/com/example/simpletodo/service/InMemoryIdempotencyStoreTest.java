@@ -0,0 +1,98 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final StoredResponse CREATED = new StoredResponse("fp", 201, "{}");
+
+    @Test
+    void releasedKeysDoNotPileUpBehindALiveEntry() {
+        int maxEntries = 100;
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), maxEntries);
+        assertThat(store.claim("live", "t", "fp")).isNull();
+        store.complete("live", "t", CREATED);
+
+        // An outage: every keyed request fails, is released and retried under a new key
+        for (int i = 0; i < 10 * maxEntries; i++) {
+            String key = "failed-" + i;
+            assertThat(store.claim(key, "t", "fp")).isNull();
+            store.release(key, "t");
+        }
+
+        assertThat(store.queuedEntries()).isEqualTo(1);
+        assertThat(store.find("live")).isEqualTo(CREATED);
+    }
+
+    @Test
+    void queueStaysWithinMaxEntries() {
+        int maxEntries = 100;
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), maxEntries);
+
+        for (int i = 0; i < 10 * maxEntries; i++) {
+            String key = "key-" + i;
+            store.claim(key, "t", "fp");
+            if (i % 2 == 0) {
+                store.complete(key, "t", CREATED);
+            } else {
+                store.release(key, "t");
+            }
+            assertThat(store.queuedEntries()).isLessThanOrEqualTo(maxEntries);
+        }
+    }
+
+    @Test
+    void onlyTheClaimTokenCanCompleteOrRelease() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), 100);
+        assertThat(store.claim("key", "owner", "fp")).isNull();
+
+        store.release("key", "other");
+        store.complete("key", "other", CREATED);
+        assertThat(store.find("key").isPending()).isTrue();
+
+        store.complete("key", "owner", CREATED);
+        assertThat(store.find("key")).isEqualTo(CREATED);
+    }
+
+    @Test
+    void concurrentClaimsHaveExactlyOneWinner() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(24), 100);
+        int claimants = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> winners = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < claimants; i++) {
+            String token = "token-" + i;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (store.claim("key", token, "fp") == null) {
+                    winners.add(token);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertThat(winners).hasSize(1);
+        assertThat(store.queuedEntries()).isEqualTo(1);
+    }
+}
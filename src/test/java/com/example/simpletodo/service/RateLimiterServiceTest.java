@@ -0,0 +1,38 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.service.RateLimiterService.Tier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // One token per bucket and practically no refill, so sharing a bucket shows up as a 429
+    private final RateLimiterService rateLimiter = new RateLimiterService(meterRegistry, true,
+            1, 0.001, 1, 0.001, 1, 0.001, 4, 4, 300);
+
+    @Test
+    void inventedTenantsDoNotPushNewClientsIntoTheOverflowBucket() {
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.tryAcquire("tenant-" + i, Tier.TENANT);
+        }
+
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.1", Tier.CHEAP).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:10.0.0.2", Tier.CHEAP).allowed()).isTrue();
+        assertThat(meterRegistry.get("todo.ratelimit.clients").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("todo.ratelimit.tenants").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void tenantsBeyondTheLimitShareTheOverflowBucket() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(rateLimiter.tryAcquire("tenant-" + i, Tier.TENANT).allowed()).isTrue();
+        }
+
+        assertThat(rateLimiter.tryAcquire("tenant-4", Tier.TENANT).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("tenant-5", Tier.TENANT).allowed()).isFalse();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.simpletodo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new RingBuffer<Integer>(1).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<Integer>(2).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<Integer>(3).capacity()).isEqualTo(4);
+        assertThat(new RingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<Integer>(9).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void offerFailsWhenFullAndSucceedsAfterDrain() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> sink = new ArrayList<>();
+        assertThat(buffer.drainTo(sink, 2)).isEqualTo(2);
+        assertThat(sink).containsExactly(0, 1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isFalse();
+
+        sink.clear();
+        assertThat(buffer.drainTo(sink, 10)).isEqualTo(4);
+        assertThat(sink).containsExactly(2, 3, 4, 5);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void manyProducersSingleConsumerDeliverEveryElementOnceInProducerOrder() throws Exception {
+        int producers = 8;
+        int perProducer = 200_000;
+        RingBuffer<Long> buffer = new RingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (long seq = 0; seq < perProducer; seq++) {
+                    Long element = (producer << 32) | seq;
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] nextExpected = new long[producers];
+        long received = 0;
+        long total = (long) producers * perProducer;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        List<Long> batch = new ArrayList<>(256);
+        start.countDown();
+        while (received < total) {
+            assertThat(System.nanoTime()).as("all elements consumed before timeout").isLessThan(deadline);
+            batch.clear();
+            if (buffer.drainTo(batch, 256) == 0) {
+                Thread.yield();
+                continue;
+            }
+            for (Long element : batch) {
+                assertThat(element).isNotNull();
+                int producer = (int) (element >>> 32);
+                long seq = element & 0xFFFF_FFFFL;
+                assertThat(seq).as("next element from producer %d", producer).isEqualTo(nextExpected[producer]);
+                nextExpected[producer]++;
+            }
+            received += batch.size();
+        }
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertThat(nextExpected).containsOnly(perProducer);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drainTo(batch, 1)).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.simpletodo.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>(meterRegistry, "test.callers");
+    }
+
+    @Test
+    void thunderingHerdRunsLoaderOnceAndSharesResult() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        List<Object> outcomes = herd(() -> {
+            invocations.incrementAndGet();
+            await(release);
+            return result;
+        }, release);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(outcomes).hasSize(CALLERS).allSatisfy(outcome -> assertThat(outcome).isSameAs(result));
+        DistributionSummary callers = meterRegistry.get("test.callers").tag("query", "q").summary();
+        assertThat(callers.count()).isEqualTo(1);
+        assertThat(callers.totalAmount()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    void thunderingHerdSharesLoaderException() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        List<Object> outcomes = herd(() -> {
+            invocations.incrementAndGet();
+            await(release);
+            throw failure;
+        }, release);
+
+        assertThat(invocations).hasValue(1);
+        assertThat(outcomes).hasSize(CALLERS).allSatisfy(outcome -> assertThat(outcome).isSameAs(failure));
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        AtomicInteger invocations = new AtomicInteger();
+
+        singleFlight.execute("key", "q", invocations::incrementAndGet);
+        singleFlight.execute("key", "q", invocations::incrementAndGet);
+
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    void differentKeysDoNotShare() {
+        assertThat(singleFlight.execute("a", "q", () -> "a")).isEqualTo("a");
+        assertThat(singleFlight.execute("b", "q", () -> "b")).isEqualTo("b");
+    }
+
+    /**
+     * Start CALLERS threads on the same key at once, wait until all of them have
+     * passed the start latch and parked again (one in the loader, the rest joined
+     * to it), then release the loader.
+     * Returns each caller's result or thrown exception.
+     */
+    private List<Object> herd(Supplier<Object> loader, CountDownLatch release) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        ConcurrentLinkedQueue<Object> outcomes = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            Thread thread = new Thread(() -> {
+                await(start);
+                arrived.incrementAndGet();
+                try {
+                    outcomes.add(singleFlight.execute("key", "q", loader));
+                } catch (RuntimeException e) {
+                    outcomes.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (arrived.get() < CALLERS
+                || !threads.stream().allMatch(SingleFlightTest::isParked)) {
+            assertThat(System.nanoTime()).as("callers parked before timeout").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        return new ArrayList<>(outcomes);
+    }
+
+    private static boolean isParked(Thread thread) {
+        Thread.State state = thread.getState();
+        return state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
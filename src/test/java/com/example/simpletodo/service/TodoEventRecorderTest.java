@@ -0,0 +1,97 @@
+package com.example.simpletodo.service;
+
+import com.example.simpletodo.entity.Todo;
+import com.example.simpletodo.entity.TodoEvent;
+import com.example.simpletodo.repository.TodoEventRepository;
+import com.example.simpletodo.service.TodoEventRecorder.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class TodoEventRecorderTest {
+
+    private static final int EVENTS = 10;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TodoEventRecorder recorder;
+
+    @AfterEach
+    void stopRecorder() {
+        if (recorder != null && recorder.isRunning()) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void failedBatchIsRetriedUntilTheDatabaseRecovers() throws Exception {
+        DataAccessResourceFailureException outage = new DataAccessResourceFailureException("connection refused");
+        doThrow(outage).doThrow(outage).doReturn(new int[0][])
+                .when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        recorder = startRecorder(60_000);
+
+        recordEvents();
+        awaitCount("written", EVENTS);
+
+        assertThat(count("dropped")).isZero();
+        assertThat(meterRegistry.get("todo.events.batch.failures").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void batchIsDroppedOnceTheRetryTimeoutRunsOut() throws Exception {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        recorder = startRecorder(300);
+
+        recordEvents();
+        awaitCount("dropped", EVENTS);
+
+        assertThat(count("written")).isZero();
+        assertThat(meterRegistry.get("todo.events.batch.failures").counter().count()).isGreaterThan(1);
+    }
+
+    private TodoEventRecorder startRecorder(long retryTimeoutMillis) {
+        TodoEventRecorder started = new TodoEventRecorder(jdbcTemplate, mock(TodoEventRepository.class),
+                meterRegistry, 1024, 500, OverflowPolicy.DROP_NEWEST, 50, 10, retryTimeoutMillis, 5_000);
+        started.start();
+        return started;
+    }
+
+    private void recordEvents() {
+        for (int i = 0; i < EVENTS; i++) {
+            Todo todo = new Todo("Task " + i);
+            todo.setId((long) i);
+            todo.setTenantId("default");
+            recorder.record(todo, TodoEvent.Type.CREATED);
+        }
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count(outcome) < expected) {
+            assertThat(System.nanoTime()).as("%s events counted before timeout", outcome).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("todo.events").tag("outcome", outcome).counter().count();
+    }
+}